@@ -0,0 +1,58 @@
+package ch.claude_martin.function.sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Many readers iterate the same shared, lazily generated sequence. The aggregated throughput
+ * should grow with the number of readers, because forced nodes are read without locking.
+ *
+ * <p>
+ * Run as a Java application. Optional arguments: number of elements, maximum number of readers. */
+public final class LazySeqContentionBenchmark {
+
+  public static void main(final String[] args) throws Exception {
+    final int elements = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    final int maxReaders = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime()
+        .availableProcessors();
+
+    run(1, elements); // warm up
+    System.out.printf("%8s %12s %16s%n", "readers", "time [ms]", "elements/s");
+    for (int readers = 1; readers <= maxReaders; readers *= 2) {
+      final long nanos = run(readers, elements);
+      final double perSecond = (double) readers * elements / nanos * 1e9;
+      System.out.printf("%8d %12.1f %16.0f%n", readers, nanos / 1e6, perSecond);
+    }
+  }
+
+  /** Returns the time it takes for all readers to read all elements. */
+  private static long run(final int readers, final int elements) throws Exception {
+    final AtomicLong counter = new AtomicLong();
+    final Seq<Long> shared = Seq.generate(counter::getAndIncrement);
+    final ExecutorService pool = Executors.newFixedThreadPool(readers);
+    try {
+      final CyclicBarrier barrier = new CyclicBarrier(readers + 1);
+      final List<Future<Long>> results = new ArrayList<>();
+      for (int r = 0; r < readers; r++)
+        results.add(pool.submit(() -> {
+          barrier.await();
+          long sum = 0;
+          Seq<Long> s = shared;
+          for (int i = 0; i < elements; i++) {
+            sum += s.head();
+            s = s.tail();
+          }
+          return sum;
+        }));
+      barrier.await();
+      final long start = System.nanoTime();
+      for (final Future<Long> result : results)
+        if (result.get() != (long) elements * (elements - 1) / 2)
+          throw new AssertionError("wrong sum");
+      return System.nanoTime() - start;
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
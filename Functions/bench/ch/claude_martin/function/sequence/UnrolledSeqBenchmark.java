@@ -0,0 +1,64 @@
+package ch.claude_martin.function.sequence;
+
+import java.util.function.IntFunction;
+
+/** Compares the memory footprint and the iteration throughput of a {@link LinkedSeq} and an
+ * {@link UnrolledSeq}, both built by prepending one element at a time.
+ *
+ * <p>
+ * Run as a Java application. Optional argument: number of elements. */
+public final class UnrolledSeqBenchmark {
+
+  public static void main(final String[] args) {
+    final int elements = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    final Integer[] values = new Integer[elements];
+    for (int i = 0; i < elements; i++)
+      values[i] = i;
+
+    final IntFunction<Seq<Integer>> linked = n -> {
+      Seq<Integer> s = Seq.empty();
+      for (int i = n - 1; i >= 0; i--)
+        s = new LinkedSeq<>(values[i], s);
+      return s;
+    };
+    final IntFunction<Seq<Integer>> unrolled = n -> {
+      Seq<Integer> s = Seq.empty();
+      for (int i = n - 1; i >= 0; i--)
+        s = UnrolledSeq.cons(values[i], s);
+      return s;
+    };
+
+    System.out.printf("%10s %16s %12s %16s%n", "", "bytes/element", "build [ms]", "elements/s");
+    run("linked", linked, elements);
+    run("unrolled", unrolled, elements);
+    run("linked", linked, elements);
+    run("unrolled", unrolled, elements);
+  }
+
+  private static void run(final String name, final IntFunction<Seq<Integer>> factory,
+      final int elements) {
+    final long before = usedMemory();
+    long start = System.nanoTime();
+    final Seq<Integer> seq = factory.apply(elements);
+    final long build = System.nanoTime() - start;
+    final long bytes = usedMemory() - before;
+
+    long sum = 0;
+    start = System.nanoTime();
+    for (int round = 0; round < 10; round++)
+      for (final Integer i : seq)
+        sum += i;
+    final long iterate = System.nanoTime() - start;
+    if (sum != 10L * elements * (elements - 1) / 2)
+      throw new AssertionError("wrong sum");
+    System.out.printf("%10s %16.1f %12.1f %16.0f%n", name, (double) bytes / elements, build / 1e6,
+        10.0 * elements / iterate * 1e9);
+  }
+
+  private static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++)
+      System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -202,107 +202,104 @@ public final class Functions {
     return (first, second, third) -> f.apply4(first, second, third, fourth);
   }
 
+  /** Lazy sequence of the elements of the iterable. A {@link Seq} is returned as it is. */
+  @SuppressWarnings("unchecked")
+  private static <T> Seq<T> lazySeq(final Iterable<? extends T> iterable, final String name) {
+    requireNonNull(iterable, name);
+    if (iterable instanceof Seq)
+      return (Seq<T>) iterable;
+    return Seq.ofIterator(iterable.iterator());
+  }
+
+  /** A sequence of the current elements of the collection. A {@link Seq} is returned as it is. */
+  @SuppressWarnings("unchecked")
+  private static <T> Seq<T> copy(final Collection<? extends T> collection, final String name) {
+    requireNonNull(collection, name);
+    return (Seq<T>) Seq.ofCollection(collection);
+  }
+
   public static <T> Seq<UniPair<T>> zipUni(final Collection<? extends T> a,
       final Collection<? extends T> b) {
-    Seq<UniPair<T>> result = Seq.empty();
-    for (final UniPair<T> q : zip(UniPair::<T> of, a, b))
-      result = Seq.seq(q, result);
-    return result;
+    return Seq.zip(copy(a, "a"), copy(b, "b"), UniPair::<T> of);
   }
 
+  /** Zips the collections. The result is lazy, but a collection that is not a {@link Seq} is
+   * copied first, so it can be modified later. */
   public static <A, B> Seq<Pair<A, B>> zip(final Collection<? extends A> a,
       final Collection<? extends B> b) {
-    Seq<Pair<A, B>> result = Seq.empty();
-    for (final Pair<A, B> q : zip(Pair::<A, B> of, a, b))
-      result = Seq.seq(q, result);
-    return result;
+    return Seq.zip(copy(a, "a"), copy(b, "b"));
   }
 
-  static <A, B, PAIR> Iterable<PAIR> zip(
+  /** Lazy zip, which ends with the shorter input. An iterable that is not a {@link Seq} is only
+   * iterated when the elements are needed, so it must not be modified. Infinite sequences are
+   * allowed.
+   *
+   * @see Seq#zip(Seq, Seq, BiFunction) */
+  public static <A, B, PAIR> Seq<PAIR> zip(
       final BiFunction<? super A, ? super B, ? extends PAIR> zipper, //
       final Iterable<? extends A> a, final Iterable<? extends B> b) {
-    requireNonNull(zipper, "zipper");
-    final Iterator<? extends A> itrA = requireNonNull(a, "a").iterator();
-    final Iterator<? extends B> itrB = requireNonNull(b, "b").iterator();
+    return Seq.zip(lazySeq(a, "a"), lazySeq(b, "b"), zipper);
+  }
 
-    return () -> {
-      return new Iterator<PAIR>() {
-        @Override
-        public boolean hasNext() {
-          return itrA.hasNext() && itrB.hasNext();
-        }
-
-        @Override
-        public PAIR next() {
-          return zipper.apply(itrA.next(), itrB.next());
-        }
-      };
-    };
+  /** Lazy zip of two streams, which ends with the shorter one. */
+  public static <A, B, PAIR> Seq<PAIR> zip(
+      final BiFunction<? super A, ? super B, ? extends PAIR> zipper, //
+      final Stream<? extends A> a, final Stream<? extends B> b) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    return Seq.zip(Seq.ofIterator(a.iterator()), Seq.ofIterator(b.iterator()), zipper);
   }
 
+  /** Zips the collections. See {@link #zip(Collection, Collection)}. */
   public static <A, B, C> Seq<Triplet<A, B, C>> zip(final Collection<? extends A> a,
       final Collection<? extends B> b, final Collection<? extends C> c) {
-    Seq<Triplet<A, B, C>> result = Seq.empty();
-    for (final Triplet<A, B, C> q : zip(Triplet::<A, B, C> of, a, b, c))
-      result = Seq.seq(q, result);
-    return result;
+    return Seq.zip(copy(a, "a"), copy(b, "b"), copy(c, "c"));
   }
 
-  static <A, B, C, TRIPLET> Iterable<TRIPLET> zip(
+  /** Lazy zip. See {@link #zip(BiFunction, Iterable, Iterable)}. */
+  public static <A, B, C, TRIPLET> Seq<TRIPLET> zip(
       final TriFn<? super A, ? super B, ? super C, ? extends TRIPLET> zipper, //
       final Iterable<? extends A> a, final Iterable<? extends B> b, final Iterable<? extends C> c) {
-    requireNonNull(zipper, "zipper");
-    final Iterator<? extends A> itrA = requireNonNull(a, "a").iterator();
-    final Iterator<? extends B> itrB = requireNonNull(b, "b").iterator();
-    final Iterator<? extends C> itrC = requireNonNull(c, "c").iterator();
+    return Seq.zip(lazySeq(a, "a"), lazySeq(b, "b"), lazySeq(c, "c"), zipper);
+  }
 
-    return () -> {
-      return new Iterator<TRIPLET>() {
-        @Override
-        public boolean hasNext() {
-          return itrA.hasNext() && itrB.hasNext() && itrC.hasNext();
-        }
-
-        @Override
-        public TRIPLET next() {
-          return zipper.apply3(itrA.next(), itrB.next(), itrC.next());
-        }
-      };
-    };
+  /** Lazy zip of three streams, which ends with the shortest one. */
+  public static <A, B, C, TRIPLET> Seq<TRIPLET> zip(
+      final TriFn<? super A, ? super B, ? super C, ? extends TRIPLET> zipper, //
+      final Stream<? extends A> a, final Stream<? extends B> b, final Stream<? extends C> c) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    requireNonNull(c, "c");
+    return Seq.zip(Seq.ofIterator(a.iterator()), Seq.ofIterator(b.iterator()),
+        Seq.ofIterator(c.iterator()), zipper);
   }
 
+  /** Zips the collections. See {@link #zip(Collection, Collection)}. */
   public static <A, B, C, D> Seq<Quad<A, B, C, D>> zip(final Collection<? extends A> a,
       final Collection<? extends B> b, final Collection<? extends C> c,
       final Collection<? extends D> d) {
-    Seq<Quad<A, B, C, D>> result = Seq.empty();
-    for (final Quad<A, B, C, D> q : zip(Quad::<A, B, C, D> of, a, b, c, d))
-      result = Seq.seq(q, result);
-    return result;
+    return Seq.zip(copy(a, "a"), copy(b, "b"), copy(c, "c"), copy(d, "d"));
   }
 
-  static <A, B, C, D, QUAD> Iterable<QUAD> zip(
+  /** Lazy zip. See {@link #zip(BiFunction, Iterable, Iterable)}. */
+  public static <A, B, C, D, QUAD> Seq<QUAD> zip(
       final QuadFn<? super A, ? super B, ? super C, ? super D, ? extends QUAD> zipper, //
       final Iterable<? extends A> a, final Iterable<? extends B> b, final Iterable<? extends C> c,
       final Iterable<? extends D> d) {
-    requireNonNull(zipper, "zipper");
-    final Iterator<? extends A> itrA = requireNonNull(a, "a").iterator();
-    final Iterator<? extends B> itrB = requireNonNull(b, "b").iterator();
-    final Iterator<? extends C> itrC = requireNonNull(c, "c").iterator();
-    final Iterator<? extends D> itrD = requireNonNull(d, "d").iterator();
+    return Seq.zip(lazySeq(a, "a"), lazySeq(b, "b"), lazySeq(c, "c"), lazySeq(d, "d"), zipper);
+  }
 
-    return () -> {
-      return new Iterator<QUAD>() {
-        @Override
-        public boolean hasNext() {
-          return itrA.hasNext() && itrB.hasNext() && itrC.hasNext() && itrD.hasNext();
-        }
-
-        @Override
-        public QUAD next() {
-          return zipper.apply4(itrA.next(), itrB.next(), itrC.next(), itrD.next());
-        }
-      };
-    };
+  /** Lazy zip of four streams, which ends with the shortest one. */
+  public static <A, B, C, D, QUAD> Seq<QUAD> zip(
+      final QuadFn<? super A, ? super B, ? super C, ? super D, ? extends QUAD> zipper, //
+      final Stream<? extends A> a, final Stream<? extends B> b, final Stream<? extends C> c,
+      final Stream<? extends D> d) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    requireNonNull(c, "c");
+    requireNonNull(d, "d");
+    return Seq.zip(Seq.ofIterator(a.iterator()), Seq.ofIterator(b.iterator()),
+        Seq.ofIterator(c.iterator()), Seq.ofIterator(d.iterator()), zipper);
   }
 
   public static <A, B> Pair<List<A>, List<B>> unzip(final List<? extends Entry<A, B>> pairs) {
@@ -0,0 +1,213 @@
+package ch.claude_martin.function.codec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+import ch.claude_martin.function.sequence.Seq;
+import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Quad;
+import ch.claude_martin.function.tuple.Triplet;
+
+/** Binary encoding of values of some type. Codecs of tuples and sequences are composed from the
+ * codecs of their elements.
+ *
+ * <p>
+ * A sequence is written as a stream of elements, each preceded by a marker byte, and followed by
+ * an end marker. So the length does not have to be known, and a lazy or infinite sequence can be
+ * written while it is generated. {@link #readAll(InputStream)} decodes such a stream lazily. */
+public interface Codec<E> {
+  void write(DataOutput out, E e) throws IOException;
+
+  E read(DataInput in) throws IOException;
+
+  public static final Codec<Boolean> BOOLEAN = Codec.<Boolean> of(DataOutput::writeBoolean,
+      DataInput::readBoolean);
+  public static final Codec<Byte> BYTE = Codec.<Byte> of(DataOutput::writeByte,
+      DataInput::readByte);
+  public static final Codec<Short> SHORT = Codec.<Short> of(DataOutput::writeShort,
+      DataInput::readShort);
+  public static final Codec<Character> CHAR = Codec.<Character> of(DataOutput::writeChar,
+      DataInput::readChar);
+  /** Fixed size of 4 bytes. */
+  public static final Codec<Integer> INT = Codec.<Integer> of(DataOutput::writeInt,
+      DataInput::readInt);
+  /** Fixed size of 8 bytes. */
+  public static final Codec<Long> LONG = Codec.<Long> of(DataOutput::writeLong,
+      DataInput::readLong);
+  public static final Codec<Float> FLOAT = Codec.<Float> of(DataOutput::writeFloat,
+      DataInput::readFloat);
+  public static final Codec<Double> DOUBLE = Codec.<Double> of(DataOutput::writeDouble,
+      DataInput::readDouble);
+  /** Variable size of 1 to 5 bytes. Small absolute values are short (zigzag encoding). */
+  public static final Codec<Integer> VARINT = Codec.<Integer> of(Encoding::writeVarLong,
+      in -> (int) Encoding.readVarLong(in));
+  /** Variable size of 1 to 10 bytes. Small absolute values are short (zigzag encoding). */
+  public static final Codec<Long> VARLONG = Codec.<Long> of(Encoding::writeVarLong,
+      Encoding::readVarLong);
+  /** UTF-8, prefixed by the number of bytes. Unlike {@link DataOutput#writeUTF(String)} there is
+   * no limit on the length. */
+  public static final Codec<String> STRING = Codec.<String> of(Encoding::writeString,
+      Encoding::readString);
+
+  @FunctionalInterface
+  public interface Writer<E> {
+    void write(DataOutput out, E e) throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface Reader<E> {
+    E read(DataInput in) throws IOException;
+  }
+
+  /** Codec defined by two functions. */
+  public static <E> Codec<E> of(final Writer<E> writer, final Reader<E> reader) {
+    requireNonNull(writer, "writer");
+    requireNonNull(reader, "reader");
+    return new Codec<E>() {
+      @Override
+      public void write(final DataOutput out, final E e) throws IOException {
+        writer.write(out, e);
+      }
+
+      @Override
+      public E read(final DataInput in) throws IOException {
+        return reader.read(in);
+      }
+    };
+  }
+
+  /** Same codec, but null is allowed. It costs one byte per value. */
+  public default Codec<E> nullable() {
+    return of((out, e) -> {
+      out.writeBoolean(e != null);
+      if (e != null)
+        this.write(out, e);
+    }, in -> in.readBoolean() ? this.read(in) : null);
+  }
+
+  public static <A, B> Codec<Pair<A, B>> pair(final Codec<A> a, final Codec<B> b) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    return of((out, p) -> {
+      a.write(out, p._1());
+      b.write(out, p._2());
+    }, in -> Pair.of(a.read(in), b.read(in)));
+  }
+
+  public static <A, B, C> Codec<Triplet<A, B, C>> triplet(final Codec<A> a, final Codec<B> b,
+      final Codec<C> c) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    requireNonNull(c, "c");
+    return of((out, t) -> {
+      a.write(out, t._1());
+      b.write(out, t._2());
+      c.write(out, t._3());
+    }, in -> Triplet.of(a.read(in), b.read(in), c.read(in)));
+  }
+
+  public static <A, B, C, D> Codec<Quad<A, B, C, D>> quad(final Codec<A> a, final Codec<B> b,
+      final Codec<C> c, final Codec<D> d) {
+    requireNonNull(a, "a");
+    requireNonNull(b, "b");
+    requireNonNull(c, "c");
+    requireNonNull(d, "d");
+    return of((out, q) -> {
+      a.write(out, q._1());
+      b.write(out, q._2());
+      c.write(out, q._3());
+      d.write(out, q._4());
+    }, in -> Quad.of(a.read(in), b.read(in), c.read(in), d.read(in)));
+  }
+
+  /** Codec of finite sequences of elements of this codec. A sequence is read eagerly. */
+  public default Codec<Seq<E>> seq() {
+    return of((out, s) -> Encoding.writeElements(out, this, s.iterator()), in -> {
+      final ArrayList<E> list = new ArrayList<>();
+      while (in.readBoolean())
+        list.add(this.read(in));
+      return Seq.ofCollection(list);
+    });
+  }
+
+  /** Writes all elements to the stream, as they are generated. The stream is buffered, but not
+   * closed. This only returns when the sequence ends.
+   *
+   * <p>
+   * The elements are read by a {@link Seq#cursor() cursor}, which does not hold on to the written
+   * elements. So a lazy or infinite sequence is streamed without materializing it, but only if the
+   * caller does not hold on to its head either. */
+  public default void writeAll(final OutputStream out, final Seq<? extends E> seq)
+      throws IOException {
+    requireNonNull(out, "out");
+    requireNonNull(seq, "seq");
+    final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    Encoding.writeElements(data, this, seq.cursor());
+    data.flush();
+  }
+
+  /** Writes all elements to the channel. See {@link #writeAll(OutputStream, Seq)}. */
+  public default void writeAll(final WritableByteChannel channel, final Seq<? extends E> seq)
+      throws IOException {
+    requireNonNull(channel, "channel");
+    this.writeAll(Channels.newOutputStream(channel), seq);
+  }
+
+  /** Lazy sequence of the elements in the stream. An element is only read when it is needed. The
+   * stream is not closed.
+   *
+   * <p>
+   * An {@link IOException} is thrown as an {@link UncheckedIOException} when the sequence is
+   * traversed. If the stream ends before the end marker, the cause is an {@link EOFException}.
+   * The stream might be in the middle of an element after any exception, so the same exception is
+   * thrown again on each access to the rest of the sequence. */
+  public default Seq<E> readAll(final InputStream in) {
+    requireNonNull(in, "in");
+    final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    final boolean[] ended = { false };
+    final Throwable[] failure = { null };
+    return Seq.generate(c -> {
+      final Throwable f = failure[0];
+      if (f instanceof RuntimeException)
+        throw (RuntimeException) f;
+      if (f != null)
+        throw (Error) f;
+      try {
+        if (ended[0] || !data.readBoolean()) {
+          ended[0] = true;
+          return false;
+        }
+        c.accept(this.read(data));
+        return true;
+      } catch (final IOException e) {
+        final UncheckedIOException u = new UncheckedIOException(e);
+        failure[0] = u;
+        throw u;
+      } catch (final RuntimeException | Error e) {
+        failure[0] = e;
+        throw e;
+      }
+    });
+  }
+
+  /** Lazy sequence of the elements in the channel. See {@link #readAll(InputStream)}. */
+  public default Seq<E> readAll(final ReadableByteChannel channel) {
+    requireNonNull(channel, "channel");
+    return this.readAll(Channels.newInputStream(channel));
+  }
+}
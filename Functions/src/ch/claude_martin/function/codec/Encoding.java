@@ -0,0 +1,59 @@
+package ch.claude_martin.function.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/** Encodings used by the codecs. */
+final class Encoding {
+  private Encoding() {
+  }
+
+  /** Zigzag encoding of the sign, then 7 bits per byte, the lowest first. */
+  static void writeVarLong(final DataOutput out, final long value) throws IOException {
+    long v = (value << 1) ^ (value >> 63);
+    while ((v & ~0x7FL) != 0) {
+      out.writeByte((int) (v & 0x7F) | 0x80);
+      v >>>= 7;
+    }
+    out.writeByte((int) v);
+  }
+
+  static long readVarLong(final DataInput in) throws IOException {
+    long v = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = in.readUnsignedByte();
+      v |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        return (v >>> 1) ^ -(v & 1);
+    }
+    throw new IOException("malformed variable-length number");
+  }
+
+  static void writeString(final DataOutput out, final String s) throws IOException {
+    final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(final DataInput in) throws IOException {
+    final long length = readVarLong(in);
+    if (length < 0 || length > Integer.MAX_VALUE)
+      throw new IOException("malformed string length: " + length);
+    final byte[] bytes = new byte[(int) length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Writes each element after a marker, then the end marker. */
+  static <E> void writeElements(final DataOutput out, final Codec<E> codec,
+      final Iterator<? extends E> elements) throws IOException {
+    while (elements.hasNext()) {
+      out.writeBoolean(true);
+      codec.write(out, elements.next());
+    }
+    out.writeBoolean(false);
+  }
+}
@@ -0,0 +1,74 @@
+package ch.claude_martin.function.sequence;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/** Lazy node that memoizes one immutable cell without locking.
+ *
+ * <p>
+ * The state is null until the node is forced. The first thread to force it claims the node with a
+ * CAS (the state is then that thread) and invokes the generator. The resulting cell is then
+ * published by a single volatile write. So the generator is invoked exactly once per position and
+ * reading a forced node is just one volatile read. Other threads that need the node while it is
+ * generated wait on its monitor. If the generator throws, the node is released again and the next
+ * access retries.
+ *
+ * @param <C>
+ *          type of the cell, which must be immutable. */
+abstract class AbstractLazySeq<E, C> extends AbstractSeq<E> {
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<AbstractLazySeq, Object> STATE = //
+  AtomicReferenceFieldUpdater.newUpdater(AbstractLazySeq.class, Object.class, "_state");
+
+  /** null, the generating thread or the cell. */
+  private volatile Object  _state   = null;
+  private volatile boolean _waiting = false;
+
+  AbstractLazySeq() {
+    super();
+  }
+
+  /** Creates the cell. This is invoked at most once, unless it throws. */
+  abstract C generate();
+
+  /** Returns the cell, which is generated if necessary. */
+  @SuppressWarnings("unchecked")
+  final C cell() {
+    for (;;) {
+      final Object state = this._state;
+      if (state != null && !(state instanceof Thread))
+        return (C) state;
+      final Thread current = Thread.currentThread();
+      if (state == null && STATE.compareAndSet(this, null, current)) {
+        C cell = null;
+        try {
+          cell = this.generate();
+        } finally {
+          this._state = cell; // null if the generator failed.
+          if (this._waiting)
+            synchronized (this) {
+              this.notifyAll();
+            }
+        }
+        return cell;
+      }
+      if (state == current)
+        throw new IllegalStateException("generator needs its own result");
+      this.await();
+    }
+  }
+
+  private void await() {
+    boolean interrupted = false;
+    synchronized (this) {
+      this._waiting = true;
+      while (this._state instanceof Thread)
+        try {
+          this.wait();
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        }
+    }
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+}
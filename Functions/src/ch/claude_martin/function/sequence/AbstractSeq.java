@@ -1,10 +1,8 @@
 package ch.claude_martin.function.sequence;
 
-import static java.util.Spliterator.IMMUTABLE;
-import static java.util.Spliterator.ORDERED;
-
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public abstract class AbstractSeq<E> extends AbstractList<E> implements Seq<E> {
 
@@ -13,32 +11,24 @@ public abstract class AbstractSeq<E> extends AbstractList<E> implements Seq<E> {
   }
 
   @Override
-  public final E last() {
-    if (this.isEmpty() || !this.isFinite())
+  public E last() {
+    if (this.isEmpty() || this.knownLength() == INFINITY)
       throw new NoSuchElementException();
-    if (this.length() == 1)
-      return this.head();
-    return this.tail().last();
+    Seq<E> s = this;
+    for (Seq<E> t = s.tail(); !t.isEmpty(); t = t.tail())
+      s = t;
+    return s.head();
   }
 
   @Override
-  public final Seq<E> init() {
+  public Seq<E> init() {
     if (this.isEmpty())
       throw new NoSuchElementException();
     // init [x] = []
-    if (this.length() == 1)
+    if (this.tail().isEmpty())
       return Seq.empty();
     // init (x:xs) = x : init xs
-
-    final AtomicReference<Seq<E>> ref = new AtomicReference<>(Seq.seq(null, this));
-    return Seq.generate(() -> {
-      return ref.updateAndGet(s -> {
-        final Seq<E> tail = s.tail();
-        if (tail.tail().isEmpty())
-          throw new NoSuchElementException();
-        return tail;
-      }).head();
-    });
+    return LazyOperator.init(this);
   }
 
   @Override
@@ -53,14 +43,33 @@ public abstract class AbstractSeq<E> extends AbstractList<E> implements Seq<E> {
 
   @Override
   public Seq<E> reverse() {
-    if (this.length() <= 1)
+    final long length = this.knownLength();
+    if (length == 0 || length == 1)
       return this;
+    if (length > 0 && length != INFINITY)
+      return reverse(this);
+    // The length is not known and might be infinite, so the sequence is reversed when the first
+    // element is accessed.
+    return Seq.generate(new Predicate<Consumer<E>>() {
+      private Seq<E> reversed = null;
+
+      @Override
+      public boolean test(final Consumer<E> consumer) {
+        if (this.reversed == null)
+          this.reversed = reverse(AbstractSeq.this);
+        if (this.reversed.isEmpty())
+          return false;
+        consumer.accept(this.reversed.head());
+        this.reversed = this.reversed.tail();
+        return true;
+      }
+    });
+  }
+
+  private static <E> Seq<E> reverse(final Seq<E> seq) {
     Seq<E> result = Seq.empty();
-    Seq<E> remaining = this;
-    while (!remaining.isEmpty()) {
-      result = new LinkedSeq<>(remaining.head(), result);
-      remaining = remaining.tail();
-    }
+    for (Seq<E> remaining = seq; !remaining.isEmpty(); remaining = remaining.tail())
+      result = UnrolledSeq.cons(remaining.head(), result);
     return result;
   }
 
@@ -69,16 +78,57 @@ public abstract class AbstractSeq<E> extends AbstractList<E> implements Seq<E> {
     return super.toString(); // AbstractCollection does a good job.
   }
 
+  /** The hash code, once it was computed. 0 if not yet computed. Like the hash of a String, it is
+   * not volatile, because all threads compute the same value. */
+  private int hash = 0;
+
+  /** The hash code of a {@link List}. It is computed once, so the elements should not be
+   * mutable. */
+  @Override
+  public final int hashCode() {
+    int h = this.hash;
+    if (h == 0) {
+      final int[] result = { 1 };
+      this.forEach(e -> result[0] = 31 * result[0] + (e == null ? 0 : e.hashCode()));
+      this.hash = h = result[0];
+    }
+    return h;
+  }
+
+  /** Compares the elements in one pass. It stops at the first difference, or as soon as both
+   * sequences share the same tail. Different lengths or hash codes are detected without that pass,
+   * if they are already known. */
   @Override
   public final boolean equals(final Object o) {
     if (this == o)
       return true;
     if (o instanceof Seq) {
-      final Seq<?> s = (Seq<?>) o;
-      if (this.isEmpty())
-        return s.isEmpty();
-      return this.length() == s.length() && Objects.equals(this.head(), s.head())
-          && this.tail().equals(s.tail());
+      final long length = this.knownLength(), otherLength = knownLength((Seq<?>) o);
+      if (length >= 0 && otherLength >= 0 && length != otherLength)
+        return false;
+      if (o instanceof AbstractSeq) {
+        final int otherHash = ((AbstractSeq<?>) o).hash;
+        if (this.hash != 0 && otherHash != 0 && this.hash != otherHash)
+          return false;
+      }
+      if (this instanceof ArraySeq && o instanceof ArraySeq)
+        return ArraySeq.contentEquals((ArraySeq<?>) this, (ArraySeq<?>) o);
+      if (this instanceof RandomAccess || o instanceof RandomAccess) {
+        // tail() would create a view for each element.
+        final Iterator<?> a = this.iterator(), b = ((Seq<?>) o).iterator();
+        while (a.hasNext())
+          if (!b.hasNext() || !Objects.equals(a.next(), b.next()))
+            return false;
+        return !b.hasNext();
+      }
+      Seq<?> a = this, b = (Seq<?>) o;
+      for (; !a.isEmpty(); a = a.tail(), b = b.tail()) {
+        if (a == b)
+          return true;
+        if (b.isEmpty() || !Objects.equals(a.head(), b.head()))
+          return false;
+      }
+      return b.isEmpty();
     }
     return super.equals(o);
   }
@@ -113,9 +163,20 @@ public abstract class AbstractSeq<E> extends AbstractList<E> implements Seq<E> {
     return Seq.super.get(index);
   }
 
+  /** The length, if it is known without forcing any elements. Otherwise -1. */
+  long knownLength() {
+    return -1;
+  }
+
+  /** The length of the given sequence, if it is known without forcing any elements. Otherwise
+   * -1. */
+  static long knownLength(final Seq<?> seq) {
+    return seq instanceof AbstractSeq ? ((AbstractSeq<?>) seq).knownLength() : -1;
+  }
+
   @Override
   public Spliterator<E> spliterator() {
-    return Spliterators.spliterator(this, ORDERED | IMMUTABLE);
+    return new SeqSpliterator<>(this, this.knownLength());
   }
 
 }
\ No newline at end of file
@@ -1,54 +1,301 @@
 package ch.claude_martin.function.sequence;
 
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterator.SORTED;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public final class ArraySeq<E> extends AbstractSeq<E> {
-  private final E[] array;
-  private final int offset;
-  private ArraySeq<E> tail = null;
+/** Sequence backed by a non-empty window {@code [from, to)} of an array, in ascending or descending
+ * order. take, drop, init, last, reverse and subList are views of the same array. */
+public final class ArraySeq<E> extends AbstractSeq<E> implements RandomAccess {
+  /** Arrays of this length or longer are sorted in parallel. */
+  static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+  private final E[]                   array;
+  private final int                   from;
+  private final int                   to;
+  /** The elements are in descending order of the indices of the array. */
+  private final boolean               descending;
+  /** The window of the array (in ascending order) is sorted by this comparator. null if
+   * unknown. */
+  private final Comparator<? super E> sortedBy;
+  private ArraySeq<E>                 tail = null;
 
   ArraySeq(final E[] array, final int offset) {
+    this(array, offset, array.length, false, null);
+  }
+
+  ArraySeq(final E[] array, final int from, final int to, final boolean descending,
+      final Comparator<? super E> sortedBy) {
     super();
+    assert from < to;
     this.array = array;
-    this.offset = offset;
+    this.from = from;
+    this.to = to;
+    this.descending = descending;
+    this.sortedBy = sortedBy;
+  }
+
+  /** Sorts the given array, in parallel if it is large, and returns it as a sequence that is known
+   * to be sorted by the comparator. */
+  @SuppressWarnings("unchecked")
+  static <E> Seq<E> sort(final Object[] array, final Comparator<? super E> comparator) {
+    requireNonNull(comparator, "comparator");
+    if (array.length == 0)
+      return Seq.empty();
+    final E[] a = (E[]) array;
+    if (a.length >= PARALLEL_SORT_THRESHOLD)
+      Arrays.parallelSort(a, comparator);
+    else
+      Arrays.sort(a, comparator);
+    return new ArraySeq<>(a, 0, a.length, false, comparator);
+  }
+
+  public static <E> Builder<E> builder() {
+    return new Builder<>();
+  }
+
+  /** Growable array for bulk construction. The sequence is a view of the array, so it is not
+   * copied by {@link #build()}. A builder can't be used after that. Not thread-safe. */
+  public static final class Builder<E> {
+    private Object[]          array  = new Object[16];
+    private int               count  = 0;
+    /** Arrays of builders that were combined with this one, in order. null if there are none. */
+    private ArrayList<Seq<E>> chunks = null;
+    private boolean           built  = false;
+
+    Builder() {
+      super();
+    }
+
+    public Builder<E> add(final E e) {
+      if (this.built)
+        throw new IllegalStateException("already built");
+      if (this.count == this.array.length) {
+        if (this.count >= Integer.MAX_VALUE - 8)
+          throw new OutOfMemoryError();
+        final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, this.count * 3L / 2);
+        this.array = Arrays.copyOf(this.array, capacity);
+      }
+      this.array[this.count++] = e;
+      return this;
+    }
+
+    public Builder<E> addAll(final Iterable<? extends E> elements) {
+      requireNonNull(elements, "elements");
+      for (final E e : elements)
+        this.add(e);
+      return this;
+    }
+
+    /** Appends the elements of the other builder, without copying them. The other builder can't be
+     * used after that. */
+    Builder<E> combine(final Builder<E> other) {
+      requireNonNull(other, "other");
+      if (this.built || other.built)
+        throw new IllegalStateException("already built");
+      if (other.chunks == null && other.count == 0)
+        return this;
+      if (this.chunks == null)
+        this.chunks = new ArrayList<>();
+      this.chunks.add(this.seal());
+      if (other.chunks != null)
+        this.chunks.addAll(other.chunks);
+      this.array = other.array;
+      this.count = other.count;
+      other.built = true;
+      return this;
+    }
+
+    /** The elements in the array. */
+    @SuppressWarnings("unchecked")
+    private Seq<E> seal() {
+      if (this.count == 0)
+        return Seq.empty();
+      return new ArraySeq<>((E[]) this.array, 0, this.count, false, null);
+    }
+
+    /** Sequence of all elements. It is an {@link ArraySeq}, unless builders were combined. */
+    @SuppressWarnings("unchecked")
+    public Seq<E> build() {
+      if (this.built)
+        throw new IllegalStateException("already built");
+      this.built = true;
+      final Seq<E> last = this.seal();
+      this.array = null;
+      if (this.chunks == null)
+        return last;
+      this.chunks.add(last);
+      return ConcatSeq.of((Seq<E>[]) this.chunks.toArray(new Seq<?>[this.chunks.size()]));
+    }
+  }
+
+  /** Compares the windows of two arrays, which might be the same. */
+  static boolean contentEquals(final ArraySeq<?> a, final ArraySeq<?> b) {
+    final int length = a.to - a.from;
+    if (length != b.to - b.from)
+      return false;
+    if (a.array == b.array && a.from == b.from && a.descending == b.descending)
+      return true;
+    if (!a.descending && !b.descending) {
+      for (int i = a.from, j = b.from; i < a.to; i++, j++)
+        if (!Objects.equals(a.array[i], b.array[j]))
+          return false;
+      return true;
+    }
+    for (int i = 0; i < length; i++)
+      if (!Objects.equals(a.array[a.position(i)], b.array[b.position(i)]))
+        return false;
+    return true;
+  }
+
+  /** Returns true if the elements are known to be sorted by the given comparator. */
+  public boolean isSortedBy(final Comparator<?> comparator) {
+    if (this.sortedBy == null)
+      return false;
+    if (this.descending)
+      return this.sortedBy.reversed().equals(comparator);
+    return this.sortedBy.equals(comparator);
+  }
+
+  /** View of the window {@code [from, to)} of the array, in the same direction. */
+  private Seq<E> window(final int from, final int to) {
+    if (from >= to)
+      return Seq.empty();
+    if (from == this.from && to == this.to)
+      return this;
+    return new ArraySeq<>(this.array, from, to, this.descending, this.sortedBy);
+  }
+
+  /** Index in the array of the element at the given index. */
+  private int position(final int index) {
+    return this.descending ? this.to - 1 - index : this.from + index;
   }
 
   @Override
   public E head() {
-    return this.array[this.offset];
+    return this.array[this.position(0)];
   }
 
   @Override
   public Seq<E> tail() {
-    final int newOffset = this.offset + 1;
-    if (newOffset == this.array.length)
+    if (this.to - this.from == 1)
       return Seq.empty();
     if (this.tail == null)
-      this.tail = new ArraySeq<>(this.array, newOffset);
+      this.tail = (ArraySeq<E>) (this.descending ? this.window(this.from, this.to - 1)
+          : this.window(this.from + 1, this.to));
     return this.tail;
   }
 
+  @Override
+  public E last() {
+    return this.array[this.position(this.to - this.from - 1)];
+  }
+
+  @Override
+  public Seq<E> init() {
+    return this.take(this.to - this.from - 1);
+  }
+
   @Override
   public long length() {
-    return this.array.length - this.offset;
+    return this.to - this.from;
+  }
+
+  @Override
+  long knownLength() {
+    return this.to - this.from;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
   }
 
   @Override
   public E get(final int index) {
-    if (index < 0 || index >= this.array.length)
+    if (index < 0 || index >= this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    return this.array[this.position(index)];
+  }
+
+  @Override
+  public Seq<E> take(final long n) {
+    if (n <= 0)
+      return Seq.empty();
+    if (n >= this.to - this.from)
+      return this;
+    return this.descending ? this.window(this.to - (int) n, this.to)
+        : this.window(this.from, this.from + (int) n);
+  }
+
+  @Override
+  public Seq<E> drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.to - this.from)
+      return Seq.empty();
+    return this.descending ? this.window(this.from, this.to - (int) n)
+        : this.window(this.from + (int) n, this.to);
+  }
+
+  @Override
+  public Seq<E> subList(final int fromIndex, final int toIndex) {
+    if (fromIndex < 0 || toIndex > this.to - this.from)
       throw new IndexOutOfBoundsException();
-    return this.array[index];
+    if (fromIndex > toIndex)
+      throw new IllegalArgumentException("fromIndex > toIndex");
+    return this.drop(fromIndex).take(toIndex - fromIndex);
+  }
+
+  @Override
+  public Seq<E> reverse() {
+    if (this.to - this.from == 1)
+      return this;
+    return new ArraySeq<>(this.array, this.from, this.to, !this.descending, this.sortedBy);
   }
 
   @Override
   public Iterator<E> iterator() {
-    if (this.offset == 0)
-      return Arrays.asList(this.array).iterator();
-    return super.iterator();
+    return new Iterator<E>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return this.index < ArraySeq.this.to - ArraySeq.this.from;
+      }
+
+      @Override
+      public E next() {
+        if (!this.hasNext())
+          throw new NoSuchElementException();
+        return ArraySeq.this.array[ArraySeq.this.position(this.index++)];
+      }
+    };
+  }
+
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    if (this.descending)
+      for (int i = this.to - 1; i >= this.from; i--)
+        action.accept(this.array[i]);
+    else
+      for (int i = this.from; i < this.to; i++)
+        action.accept(this.array[i]);
   }
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -59,34 +306,84 @@ public final class ArraySeq<E> extends AbstractSeq<E> {
 
   @Override
   public Seq<E> sorted(final Comparator<? super E> comparator) {
-    final int size = this.array.length - this.offset;
-    @SuppressWarnings("unchecked")
-    final E[] copy = (E[]) new Object[size];
-    System.arraycopy(this.array, this.offset, copy, 0, size);
-    Arrays.sort(copy, comparator);
-    return new ArraySeq<>(copy, 0);
+    if (this.isSortedBy(comparator))
+      return this;
+    return sort(this.toArray(), comparator);
+  }
+
+  /** Index in the array of some element that is equal to the given element by the comparator of
+   * this sorted sequence, or a negative value. */
+  @SuppressWarnings("unchecked")
+  private int search(final Object o) {
+    try {
+      return Arrays.binarySearch(this.array, this.from, this.to, (E) o, this.sortedBy);
+    } catch (final ClassCastException | NullPointerException e) {
+      return -1; // o can't be compared to the elements.
+    }
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    if (this.sortedBy == null)
+      return super.indexOf(o);
+    final int i = this.search(o);
+    if (i < 0)
+      return -1;
+    // Equal elements are next to each other. The first one that equals o is returned.
+    int lo = i, hi = i;
+    while (lo > this.from && this.sortedBy.compare(this.array[lo - 1], this.array[i]) == 0)
+      lo--;
+    while (hi < this.to - 1 && this.sortedBy.compare(this.array[hi + 1], this.array[i]) == 0)
+      hi++;
+    final int step = this.descending ? -1 : 1;
+    for (int j = this.descending ? hi : lo; j >= lo && j <= hi; j += step)
+      if (Objects.equals(o, this.array[j]))
+        return this.descending ? this.to - 1 - j : j - this.from;
+    return -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.indexOf(o) != -1;
   }
 
   @Override
   public Object[] toArray() {
-    return Arrays.copyOf(this.array, this.array.length, Object[].class);
+    final Object[] result = Arrays.copyOfRange(this.array, this.from, this.to, Object[].class);
+    if (this.descending)
+      for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+        final Object x = result[i];
+        result[i] = result[j];
+        result[j] = x;
+      }
+    return result;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
-  public <T> T[] toArray(T[] a) {
-    if(a.length != this.array.length)
-      a = Arrays.copyOf(a, this.array.length);
-    System.arraycopy(this.array, 0, a, 0, a.length);
-    return a;
+  public <T> T[] toArray(final T[] a) {
+    final int size = this.to - this.from;
+    final T[] result = a.length >= size ? a : Arrays.copyOf(a, size);
+    for (int i = 0; i < size; i++)
+      result[i] = (T) this.array[this.position(i)];
+    if (result.length > size)
+      result[size] = null;
+    return result;
   }
 
   @Override
   public Stream<E> stream() {
-    return Arrays.stream(this.array);
+    if (this.descending)
+      return IntStream.range(0, this.to - this.from).mapToObj(this::get);
+    return Arrays.stream(this.array, this.from, this.to);
   }
 
   @Override
   public Spliterator<E> spliterator() {
-    return Arrays.spliterator(this.array);
+    if (this.descending)
+      return this.stream().spliterator();
+    // The spliterator can only report natural order:
+    final int sorted = this.sortedBy == Comparator.naturalOrder() ? SORTED : 0;
+    return Spliterators.spliterator(this.array, this.from, this.to, ORDERED | IMMUTABLE | sorted);
   }
 }
@@ -0,0 +1,193 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/** Lazy sequence that is generated in chunks. Each call of the generator writes up to
+ * {@code chunkSize} elements to the given consumer. The sequence ends when the generator writes no
+ * element. The nodes of this sequence are views of the memoized chunks. */
+public final class ChunkedSeq<E> extends AbstractSeq<E> {
+
+  /** Elements written by one call of the generator. The next chunk is created, but not generated,
+   * when this one is generated. */
+  static final class Chunk<E> {
+    private final ObjIntConsumer<Consumer<E>> generator;
+    private final int                         capacity;
+    /** null until generated. Publishes _size and _next. */
+    private volatile Object[]                 _elements = null;
+    private int                               _size;
+    private Chunk<E>                          _next;
+    private volatile long                     _length   = -1;
+
+    Chunk(final ObjIntConsumer<Consumer<E>> generator, final int capacity) {
+      this.generator = generator;
+      this.capacity = capacity;
+    }
+
+    Object[] elements() {
+      final Object[] elements = this._elements;
+      if (elements != null)
+        return elements;
+      synchronized (this) {
+        if (this._elements == null) {
+          final Object[] buffer = new Object[this.capacity];
+          final int[] size = { 0 };
+          this.generator.accept(e -> {
+            if (size[0] == buffer.length)
+              throw new IllegalStateException("generator wrote more than " + buffer.length
+                  + " elements");
+            buffer[size[0]++] = e;
+          }, buffer.length);
+          this._size = size[0];
+          if (size[0] > 0)
+            this._next = new Chunk<>(this.generator, this.capacity);
+          this._elements = buffer;
+        }
+        return this._elements;
+      }
+    }
+
+    int size() {
+      this.elements();
+      return this._size;
+    }
+
+    Chunk<E> next() {
+      this.elements();
+      return this._next;
+    }
+
+    /** Number of elements in this and all following chunks. */
+    long length() {
+      long len = this._length;
+      if (len != -1)
+        return len;
+      len = 0;
+      for (Chunk<E> c = this; c.size() > 0; c = c.next())
+        len += c._size;
+      return this._length = len;
+    }
+  }
+
+  private final Chunk<E> chunk;
+  private final int      index;
+
+  ChunkedSeq(final ObjIntConsumer<Consumer<E>> generator, final int chunkSize) {
+    super();
+    requireNonNull(generator, "generator");
+    if (chunkSize <= 0)
+      throw new IllegalArgumentException("chunkSize must be positive");
+    this.chunk = new Chunk<>(generator, chunkSize);
+    this.index = 0;
+  }
+
+  private ChunkedSeq(final Chunk<E> chunk, final int index) {
+    super();
+    this.chunk = chunk;
+    this.index = index;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E head() {
+    final Object[] elements = this.chunk.elements();
+    if (this.chunk.size() == 0)
+      throw new NoSuchElementException();
+    return (E) elements[this.index];
+  }
+
+  @Override
+  public Seq<E> tail() {
+    final int size = this.chunk.size();
+    if (size == 0)
+      throw new NoSuchElementException();
+    if (this.index + 1 < size)
+      return new ChunkedSeq<>(this.chunk, this.index + 1);
+    return new ChunkedSeq<>(this.chunk.next(), 0);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.chunk.size() == 0;
+  }
+
+  @Override
+  public long length() {
+    return this.chunk.length() - this.index;
+  }
+
+  @Override
+  long knownLength() {
+    final long len = this.chunk._length;
+    return len == -1 ? -1 : len - this.index;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E get(final int index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    long i = this.index + (long) index;
+    for (Chunk<E> c = this.chunk; c.size() > 0; c = c.next()) {
+      if (i < c._size)
+        return (E) c.elements()[(int) i];
+      i -= c._size;
+    }
+    throw new IndexOutOfBoundsException();
+  }
+
+  @Override
+  public Seq<E> drop(final long n) {
+    if (n <= 0)
+      return this;
+    long i = this.index + n;
+    for (Chunk<E> c = this.chunk; c.size() > 0; c = c.next()) {
+      if (i < c._size)
+        return new ChunkedSeq<>(c, (int) i);
+      i -= c._size;
+    }
+    return Seq.empty();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      Chunk<E> c = ChunkedSeq.this.chunk;
+      int      i = ChunkedSeq.this.index;
+
+      @Override
+      public boolean hasNext() {
+        return this.c.size() > 0;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public E next() {
+        if (this.c.size() == 0)
+          throw new NoSuchElementException();
+        final E e = (E) this.c.elements()[this.i];
+        if (++this.i == this.c._size) {
+          this.c = this.c.next();
+          this.i = 0;
+        }
+        return e;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    int i = this.index;
+    for (Chunk<E> c = this.chunk; c.size() > 0; c = c.next(), i = 0) {
+      final Object[] elements = c.elements();
+      for (final int size = c._size; i < size; i++)
+        action.accept((E) elements[i]);
+    }
+  }
+}
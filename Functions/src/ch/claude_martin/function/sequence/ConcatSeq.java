@@ -0,0 +1,481 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/** Concatenation of two non-empty sequences, as a node of a balanced tree (a rope). The depths of
+ * the two sides differ by at most one, so the depth of the tree is logarithmic in the number of
+ * concatenated sequences, no matter in which order they are concatenated. The sequences are not
+ * forced, except for their first elements. */
+final class ConcatSeq<E> extends AbstractSeq<E> {
+  private final Seq<E> left;
+  private final Seq<E> right;
+  private final int    depth;
+  /** -1 until known. */
+  private volatile long _length;
+
+  private ConcatSeq(final Seq<E> left, final Seq<E> right) {
+    super();
+    this.left = left;
+    this.right = right;
+    this.depth = 1 + Math.max(depth(left), depth(right));
+    this._length = sum(knownLength(left), knownLength(right));
+  }
+
+  /** Concatenation of the given sequences. */
+  @SuppressWarnings("unchecked")
+  static <E> Seq<E> of(final Seq<E> left, final Seq<? extends E> right) {
+    requireNonNull(left, "left");
+    requireNonNull(right, "right");
+    if (right.isEmpty() || knownLength(left) == INFINITY)
+      return left;
+    if (left.isEmpty())
+      return (Seq<E>) right;
+    return join(left, (Seq<E>) right);
+  }
+
+  /** Balanced concatenation of all the given sequences. */
+  @SuppressWarnings("unchecked")
+  static <E> Seq<E> of(final Seq<? extends E>[] sequences) {
+    requireNonNull(sequences, "sequences");
+    final ArrayList<Seq<E>> list = new ArrayList<>(sequences.length);
+    for (final Seq<? extends E> s : sequences) {
+      requireNonNull(s, "sequences");
+      if (s.isEmpty())
+        continue;
+      list.add((Seq<E>) s);
+      if (knownLength(s) == INFINITY)
+        break; // the rest can't be reached.
+    }
+    if (list.isEmpty())
+      return Seq.empty();
+    return build(list, 0, list.size());
+  }
+
+  private static <E> Seq<E> build(final ArrayList<Seq<E>> list, final int from, final int to) {
+    if (to - from == 1)
+      return list.get(from);
+    final int mid = (from + to) >>> 1;
+    return join(build(list, from, mid), build(list, mid, to));
+  }
+
+  static int depth(final Seq<?> seq) {
+    return seq instanceof ConcatSeq ? ((ConcatSeq<?>) seq).depth : 0;
+  }
+
+  /** Sum of two lengths. -1 if any is unknown. */
+  private static long sum(final long a, final long b) {
+    if (a < 0 || b < 0)
+      return -1;
+    if (a == INFINITY || b == INFINITY || a + b < 0)
+      return INFINITY;
+    return a + b;
+  }
+
+  /** Concatenates two non-empty sequences, rotating nodes like an AVL tree to keep it balanced. */
+  private static <E> Seq<E> join(final Seq<E> left, final Seq<E> right) {
+    final int dl = depth(left), dr = depth(right);
+    if (dl > dr + 1) {
+      final ConcatSeq<E> l = (ConcatSeq<E>) left;
+      final Seq<E> t = join(l.right, right);
+      if (depth(t) <= depth(l.left) + 1)
+        return new ConcatSeq<>(l.left, t);
+      final ConcatSeq<E> c = (ConcatSeq<E>) t;
+      if (depth(c.left) <= depth(c.right))
+        return new ConcatSeq<>(new ConcatSeq<>(l.left, c.left), c.right);
+      final ConcatSeq<E> cl = (ConcatSeq<E>) c.left;
+      return new ConcatSeq<>(new ConcatSeq<>(l.left, cl.left),
+          new ConcatSeq<>(cl.right, c.right));
+    }
+    if (dr > dl + 1) {
+      final ConcatSeq<E> r = (ConcatSeq<E>) right;
+      final Seq<E> t = join(left, r.left);
+      if (depth(t) <= depth(r.right) + 1)
+        return new ConcatSeq<>(t, r.right);
+      final ConcatSeq<E> c = (ConcatSeq<E>) t;
+      if (depth(c.right) <= depth(c.left))
+        return new ConcatSeq<>(c.left, new ConcatSeq<>(c.right, r.right));
+      final ConcatSeq<E> cr = (ConcatSeq<E>) c.right;
+      return new ConcatSeq<>(new ConcatSeq<>(c.left, cr.left),
+          new ConcatSeq<>(cr.right, r.right));
+    }
+    return new ConcatSeq<>(left, right);
+  }
+
+  /** The concatenated sequences, from left to right. */
+  Seq<?>[] leaves() {
+    final ArrayList<Seq<?>> leaves = new ArrayList<>();
+    final ArrayDeque<Seq<?>> stack = new ArrayDeque<>();
+    stack.push(this);
+    while (!stack.isEmpty()) {
+      final Seq<?> s = stack.pop();
+      if (s instanceof ConcatSeq) {
+        stack.push(((ConcatSeq<?>) s).right);
+        stack.push(((ConcatSeq<?>) s).left);
+      } else
+        leaves.add(s);
+    }
+    return leaves.toArray(new Seq<?>[leaves.size()]);
+  }
+
+  @Override
+  public E head() {
+    Seq<E> s = this.left;
+    while (s instanceof ConcatSeq)
+      s = ((ConcatSeq<E>) s).left;
+    return s.head();
+  }
+
+  /** The tail is a {@link Rest}, so that the tree is not rebuilt for each element. */
+  @Override
+  public Seq<E> tail() {
+    return tail(this.left, new LinkedSeq<>(this.right, Seq.empty()));
+  }
+
+  /** The given sequence, followed by the pending sequences. The left spine of the tree is pushed to
+   * the pending sequences. */
+  static <E> Seq<E> rest(final Seq<E> seq, final Seq<Seq<E>> rights) {
+    Seq<E> s = seq;
+    Seq<Seq<E>> r = rights;
+    while (s instanceof ConcatSeq) {
+      r = new LinkedSeq<>(((ConcatSeq<E>) s).right, r);
+      s = ((ConcatSeq<E>) s).left;
+    }
+    return r.isEmpty() ? s : new Rest<>(s, r);
+  }
+
+  /** The tail of the given sequence, followed by the pending sequences. */
+  static <E> Seq<E> tail(final Seq<E> seq, final Seq<Seq<E>> rights) {
+    Seq<E> s = seq;
+    Seq<Seq<E>> r = rights;
+    while (s instanceof ConcatSeq) {
+      r = new LinkedSeq<>(((ConcatSeq<E>) s).right, r);
+      s = ((ConcatSeq<E>) s).left;
+    }
+    final Seq<E> tail = s.tail();
+    if (!tail.isEmpty())
+      return rest(tail, r);
+    return r.isEmpty() ? tail : rest(r.head(), r.tail());
+  }
+
+  @Override
+  public E last() {
+    if (knownLength(this.right) == INFINITY)
+      throw new NoSuchElementException();
+    return this.right.last();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public long length() {
+    long len = this._length;
+    if (len == -1)
+      this._length = len = sum(this.left.length(), this.right.length());
+    return len;
+  }
+
+  @Override
+  long knownLength() {
+    long len = this._length;
+    if (len == -1 && (len = sum(knownLength(this.left), knownLength(this.right))) != -1)
+      this._length = len;
+    return len;
+  }
+
+  @Override
+  public E get(final int index) {
+    return this.get((long) index);
+  }
+
+  /** Element at the given index. Only the sequences before the index are counted. */
+  public E get(final long index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    long i = index;
+    Seq<E> s = this;
+    while (s instanceof ConcatSeq) {
+      final ConcatSeq<E> c = (ConcatSeq<E>) s;
+      if (knownLength(c.left) < 0) {
+        // The left side might be infinite, so it is not counted unless the index is after it.
+        final Seq<E> rest = c.left.drop(i);
+        if (!rest.isEmpty())
+          return rest.head();
+      }
+      final long leftLength = c.left.length();
+      if (i < leftLength) {
+        s = c.left;
+      } else {
+        i -= leftLength;
+        s = c.right;
+      }
+    }
+    if (i <= Integer.MAX_VALUE)
+      return s.get((int) i);
+    final Seq<E> rest = s.drop(i);
+    if (rest.isEmpty())
+      throw new IndexOutOfBoundsException();
+    return rest.head();
+  }
+
+  @Override
+  public Seq<E> drop(final long n) {
+    if (n <= 0)
+      return this;
+    final long leftLength = knownLength(this.left);
+    if (leftLength < 0)
+      return super.drop(n);
+    if (n < leftLength)
+      return join(this.left.drop(n), this.right);
+    return this.right.drop(n - leftLength);
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private final ArrayDeque<Seq<E>> pending = new ArrayDeque<>();
+      private Seq<E>                   current = ConcatSeq.this;
+
+      @Override
+      public boolean hasNext() {
+        while (true) {
+          if (this.current instanceof ConcatSeq) {
+            this.pending.push(((ConcatSeq<E>) this.current).right);
+            this.current = ((ConcatSeq<E>) this.current).left;
+          } else if (!this.current.isEmpty())
+            return true;
+          else if (this.pending.isEmpty())
+            return false;
+          else
+            this.current = this.pending.pop();
+        }
+      }
+
+      @Override
+      public E next() {
+        if (!this.hasNext())
+          throw new NoSuchElementException();
+        final E e = this.current.head();
+        this.current = this.current.tail();
+        return e;
+      }
+    };
+  }
+
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    for (final Seq<?> leaf : this.leaves()) {
+      @SuppressWarnings("unchecked")
+      final Seq<E> s = (Seq<E>) leaf;
+      s.forEach(action);
+    }
+  }
+
+  /** The remaining elements of a rope: a non-empty sequence, which is not a ConcatSeq, and the
+   * pending sequences after it. Each tail of a concatenation is such a view, which takes constant
+   * time, except when the next sequence has to be found in the tree. */
+  private static final class Rest<E> extends AbstractSeq<E> {
+    private final Seq<E>      seq;
+    /** Not empty. */
+    private final Seq<Seq<E>> rights;
+    /** -1 until known. */
+    private volatile long     _length = -1;
+
+    Rest(final Seq<E> seq, final Seq<Seq<E>> rights) {
+      super();
+      this.seq = seq;
+      this.rights = rights;
+    }
+
+    @Override
+    public E head() {
+      return this.seq.head();
+    }
+
+    @Override
+    public Seq<E> tail() {
+      return ConcatSeq.tail(this.seq, this.rights);
+    }
+
+    @Override
+    public E last() {
+      final Seq<E> last = this.rights.last();
+      if (knownLength(last) == INFINITY)
+        throw new NoSuchElementException();
+      return last.last();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return false;
+    }
+
+    @Override
+    public long length() {
+      long len = this._length;
+      if (len == -1) {
+        len = this.seq.length();
+        for (final Seq<E> s : this.rights)
+          len = sum(len, s.length());
+        this._length = len;
+      }
+      return len;
+    }
+
+    @Override
+    long knownLength() {
+      long len = this._length;
+      if (len == -1) {
+        len = knownLength(this.seq);
+        for (final Seq<E> s : this.rights)
+          len = sum(len, knownLength(s));
+        if (len != -1)
+          this._length = len;
+      }
+      return len;
+    }
+
+    /** Skips whole sequences while their lengths are known, without recursion. */
+    @Override
+    public Seq<E> drop(final long n) {
+      if (n <= 0)
+        return this;
+      Seq<E> s = this.seq;
+      Seq<Seq<E>> r = this.rights;
+      long i = n;
+      while (true) {
+        final long length = knownLength(s);
+        if (length < 0 && s instanceof ConcatSeq) {
+          r = new LinkedSeq<>(((ConcatSeq<E>) s).right, r);
+          s = ((ConcatSeq<E>) s).left;
+          continue;
+        }
+        if (length < 0) {
+          // The sequence might be infinite, so it is only counted if the index is after it.
+          final Seq<E> rest = s.drop(i);
+          if (!rest.isEmpty())
+            return rest(rest, r);
+          i -= s.length();
+        } else if (i < length)
+          return rest(s.drop(i), r);
+        else
+          i -= length;
+        if (r.isEmpty())
+          return Seq.empty();
+        s = r.head();
+        r = r.tail();
+      }
+    }
+
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      this.seq.forEach(action);
+      for (final Seq<E> s : this.rights)
+        s.forEach(action);
+    }
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    final ArrayDeque<Seq<E>> pending = new ArrayDeque<>();
+    pending.add(this);
+    final long length = this.knownLength();
+    return new RopeSpliterator<>(pending, length >= 0 && length != INFINITY);
+  }
+
+  /** Splits at the nodes of the tree. A concatenated sequence is split by its own spliterator. */
+  private static final class RopeSpliterator<E> implements Spliterator<E> {
+    /** Sequences after the current one. */
+    private final ArrayDeque<Seq<E>> pending;
+    private Spliterator<E>           current = null;
+    private final boolean            sized;
+
+    RopeSpliterator(final ArrayDeque<Seq<E>> pending, final boolean sized) {
+      this.pending = pending;
+      this.sized = sized;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      if (this.current != null) {
+        if (this.pending.isEmpty())
+          return this.current.trySplit();
+        final Spliterator<E> prefix = this.current;
+        this.current = null;
+        return prefix;
+      }
+      if (this.pending.isEmpty())
+        return null;
+      final Seq<E> first = this.pending.pollFirst();
+      if (!this.pending.isEmpty())
+        return first.spliterator();
+      if (first instanceof ConcatSeq) {
+        final ConcatSeq<E> c = (ConcatSeq<E>) first;
+        this.pending.add(c.right);
+        final ArrayDeque<Seq<E>> prefix = new ArrayDeque<>();
+        prefix.add(c.left);
+        return new RopeSpliterator<>(prefix, this.sized);
+      }
+      this.current = first.spliterator();
+      return this.current.trySplit();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      while (true) {
+        if (this.current != null && this.current.tryAdvance(action))
+          return true;
+        if (this.pending.isEmpty()) {
+          this.current = null;
+          return false;
+        }
+        final Seq<E> next = this.pending.pollFirst();
+        if (next instanceof ConcatSeq) {
+          this.pending.addFirst(((ConcatSeq<E>) next).right);
+          this.pending.addFirst(((ConcatSeq<E>) next).left);
+          this.current = null;
+        } else
+          this.current = next.spliterator();
+      }
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      if (this.current != null)
+        this.current.forEachRemaining(action);
+      this.current = null;
+      while (!this.pending.isEmpty())
+        this.pending.pollFirst().forEach(action);
+    }
+
+    @Override
+    public long estimateSize() {
+      if (!this.sized)
+        return Long.MAX_VALUE;
+      long size = this.current == null ? 0 : this.current.estimateSize();
+      for (final Seq<E> s : this.pending)
+        size += s.length();
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      if (this.sized)
+        return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+      return ORDERED | IMMUTABLE;
+    }
+  }
+}
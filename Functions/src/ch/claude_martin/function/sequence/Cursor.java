@@ -0,0 +1,141 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** One pass over the elements of a generator or a sequence. Unlike a lazy {@link Seq}, a cursor
+ * does not keep the elements it has returned, so it uses constant memory, no matter how many
+ * elements it reads from an infinite generator. map, filter and take return new cursors that read
+ * this one. A cursor is not thread safe.
+ *
+ * @see Seq#generateOnce(Predicate)
+ * @see Seq#cursor() */
+public final class Cursor<E> implements Iterator<E> {
+  private static final Object          NONE = new Object();
+
+  private final Predicate<Consumer<E>> generator;
+  /** The next element, or NONE if it was not yet generated. */
+  private Object                       next = NONE;
+  private boolean                      done = false;
+
+  Cursor(final Predicate<Consumer<E>> generator) {
+    requireNonNull(generator, "generator");
+    this.generator = generator;
+  }
+
+  /** Cursor over the elements of the callable, until it throws any exception. */
+  static <E> Cursor<E> of(final Callable<E> callable) {
+    requireNonNull(callable, "callable");
+    return new Cursor<>(c -> {
+      try {
+        c.accept(callable.call());
+        return true;
+      } catch (final Throwable e) {
+        return false;
+      }
+    });
+  }
+
+  /** Cursor over the elements of the sequence. It does not hold on to the elements it has
+   * returned, but the caller might. */
+  static <E> Cursor<E> of(final Seq<E> seq) {
+    requireNonNull(seq, "seq");
+    return new Cursor<>(new Rest<>(seq));
+  }
+
+  /** Walks a sequence. A static class, so that nothing else refers to the first node. */
+  private static final class Rest<E> implements Predicate<Consumer<E>> {
+    private Seq<E> rest;
+
+    Rest(final Seq<E> seq) {
+      this.rest = seq;
+    }
+
+    @Override
+    public boolean test(final Consumer<E> consumer) {
+      if (this.rest.isEmpty())
+        return false;
+      consumer.accept(this.rest.head());
+      this.rest = this.rest.tail();
+      return true;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.next == NONE && !this.done && !this.generator.test(e -> this.next = e))
+      this.done = true;
+    return this.next != NONE;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E next() {
+    if (!this.hasNext())
+      throw new NoSuchElementException();
+    final E e = (E) this.next;
+    this.next = NONE;
+    return e;
+  }
+
+  public <R> Cursor<R> map(final Function<? super E, ? extends R> mapper) {
+    requireNonNull(mapper, "mapper");
+    return new Cursor<>(c -> {
+      if (!this.hasNext())
+        return false;
+      c.accept(mapper.apply(this.next()));
+      return true;
+    });
+  }
+
+  public Cursor<E> filter(final Predicate<? super E> predicate) {
+    requireNonNull(predicate, "predicate");
+    return new Cursor<>(c -> {
+      while (this.hasNext()) {
+        final E e = this.next();
+        if (predicate.test(e)) {
+          c.accept(e);
+          return true;
+        }
+      }
+      return false;
+    });
+  }
+
+  public Cursor<E> take(final long n) {
+    final long[] remaining = { n };
+    return new Cursor<>(c -> {
+      if (remaining[0] <= 0 || !this.hasNext())
+        return false;
+      remaining[0]--;
+      c.accept(this.next());
+      return true;
+    });
+  }
+
+  /** Folds the remaining elements. This does not return if there are infinitely many. */
+  public <B> B foldLeft(final BiFunction<? super B, ? super E, B> accumulator, final B identity) {
+    requireNonNull(accumulator, "accumulator");
+    B result = identity;
+    while (this.hasNext())
+      result = accumulator.apply(result, this.next());
+    return result;
+  }
+
+  /** Sequential stream of the remaining elements. */
+  public Stream<E> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED),
+        false);
+  }
+}
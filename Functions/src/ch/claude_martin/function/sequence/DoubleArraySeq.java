@@ -0,0 +1,153 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.ORDERED;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+/** Sequence of doubles, backed by a window {@code [from, to)} of an array. */
+public final class DoubleArraySeq extends AbstractSeq<Double> implements DoubleSeq {
+  static final DoubleArraySeq EMPTY = new DoubleArraySeq(new double[0], 0, 0);
+
+  private final double[] array;
+  private final int      from;
+  private final int      to;
+
+  DoubleArraySeq(final double[] array, final int from, final int to) {
+    super();
+    requireNonNull(array, "array");
+    this.array = array;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public double headDouble() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return this.array[this.from];
+  }
+
+  @Override
+  public DoubleSeq tail() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return new DoubleArraySeq(this.array, this.from + 1, this.to);
+  }
+
+  @Override
+  public long length() {
+    return this.to - this.from;
+  }
+
+  @Override
+  long knownLength() {
+    return this.to - this.from;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.from == this.to;
+  }
+
+  @Override
+  public double getDouble(final long index) {
+    if (index < 0 || index >= this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    return this.array[this.from + (int) index];
+  }
+
+  @Override
+  public Double get(final int index) {
+    return this.getDouble(index);
+  }
+
+  @Override
+  public DoubleSeq take(final long n) {
+    if (n <= 0)
+      return DoubleSeq.empty();
+    if (n >= this.to - this.from)
+      return this;
+    return new DoubleArraySeq(this.array, this.from, this.from + (int) n);
+  }
+
+  @Override
+  public DoubleSeq drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.to - this.from)
+      return DoubleSeq.empty();
+    return new DoubleArraySeq(this.array, this.from + (int) n, this.to);
+  }
+
+  @Override
+  public double foldLeftDouble(final DoubleBinaryOperator accumulator, final double identity) {
+    requireNonNull(accumulator, "accumulator");
+    double result = identity;
+    for (int i = this.from; i < this.to; i++)
+      result = accumulator.applyAsDouble(result, this.array[i]);
+    return result;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    if (!(o instanceof Double))
+      return false;
+    // Same semantics as Double.equals:
+    final long bits = Double.doubleToLongBits((Double) o);
+    for (int i = this.from; i < this.to; i++)
+      if (Double.doubleToLongBits(this.array[i]) == bits)
+        return true;
+    return false;
+  }
+
+  @Override
+  public DoubleSeq reverse() {
+    final int length = this.to - this.from;
+    if (length <= 1)
+      return this;
+    final double[] reversed = new double[length];
+    for (int i = 0; i < length; i++)
+      reversed[i] = this.array[this.to - 1 - i];
+    return new DoubleArraySeq(reversed, 0, length);
+  }
+
+  @Override
+  public PrimitiveIterator.OfDouble doubleIterator() {
+    return Spliterators.iterator(this.spliterator());
+  }
+
+  @Override
+  public Iterator<Double> iterator() {
+    return this.doubleIterator();
+  }
+
+  @Override
+  public DoubleStream doubleStream() {
+    return Arrays.stream(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Stream<Double> stream() {
+    return this.doubleStream().boxed();
+  }
+
+  @Override
+  public double[] toDoubleArray() {
+    return Arrays.copyOfRange(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Spliterator.OfDouble spliterator() {
+    return Spliterators.spliterator(this.array, this.from, this.to, ORDERED | IMMUTABLE);
+  }
+}
@@ -0,0 +1,243 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/** Sequence of primitive double values. The elements are stored unboxed, the methods of {@link Seq}
+ * box on access. So an DoubleSeq can be used wherever a {@code Seq<Double>} is expected. */
+public interface DoubleSeq extends Seq<Double> {
+
+  public static DoubleSeq empty() {
+    return DoubleArraySeq.EMPTY;
+  }
+
+  /** Creates a clone of the given elements. */
+  public static DoubleSeq of(final double... elements) {
+    requireNonNull(elements, "elements");
+    if (elements.length == 0)
+      return empty();
+    return new DoubleArraySeq(elements.clone(), 0, elements.length);
+  }
+
+  /** Lazy sequence that returns elements until any exception is thrown. */
+  public static DoubleSeq generate(final DoubleSupplier supplier) {
+    requireNonNull(supplier, "supplier");
+    return new LazyDoubleSeq(c -> {
+      try {
+        c.accept(supplier.getAsDouble());
+        return true;
+      } catch (final Throwable e) {
+        return false;
+      }
+    });
+  }
+
+  /** Lazy sequence that returns elements as long as the generator returns true. */
+  public static DoubleSeq generate(final Predicate<DoubleConsumer> generator) {
+    return new LazyDoubleSeq(generator);
+  }
+
+  /** Lazy sequence of seed, f(seed), f(f(seed)) etc. Ends when f throws any exception. */
+  public static DoubleSeq iterate(final double seed, final DoubleUnaryOperator f) {
+    requireNonNull(f, "f");
+    return new LazyDoubleSeq(new Predicate<DoubleConsumer>() {
+      double next = seed;
+
+      @Override
+      public boolean test(final DoubleConsumer c) {
+        try {
+          final double i = this.next;
+          this.next = f.applyAsDouble(i);
+          c.accept(i);
+          return true;
+        } catch (final Throwable e) {
+          return false;
+        }
+      }
+    });
+  }
+
+  /** Extract the first element of a list, which must be non-empty. */
+  public abstract double headDouble();
+
+  @Override
+  public default Double head() {
+    return this.headDouble();
+  }
+
+  @Override
+  public abstract DoubleSeq tail();
+
+  /** Element at the given position. */
+  public default double getDouble(final long index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    DoubleSeq s = this;
+    for (long i = index; i > 0; i--) {
+      if (s.isEmpty())
+        throw new IndexOutOfBoundsException();
+      s = s.tail();
+    }
+    if (s.isEmpty())
+      throw new IndexOutOfBoundsException();
+    return s.headDouble();
+  }
+
+  public default double foldLeftDouble(final DoubleBinaryOperator accumulator,
+      final double identity) {
+    requireNonNull(accumulator, "accumulator");
+    double result = identity;
+    for (final PrimitiveIterator.OfDouble itr = this.doubleIterator(); itr.hasNext();)
+      result = accumulator.applyAsDouble(result, itr.nextDouble());
+    return result;
+  }
+
+  public default DoubleSeq mapDouble(final DoubleUnaryOperator mapper) {
+    requireNonNull(mapper, "mapper");
+    if (this.isEmpty())
+      return empty();
+    return new LazyDoubleSeq(new Predicate<DoubleConsumer>() {
+      DoubleSeq rest = DoubleSeq.this;
+
+      @Override
+      public boolean test(final DoubleConsumer c) {
+        if (this.rest.isEmpty())
+          return false;
+        c.accept(mapper.applyAsDouble(this.rest.headDouble()));
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  public default DoubleSeq filterDouble(final DoublePredicate predicate) {
+    requireNonNull(predicate, "predicate");
+    if (this.isEmpty())
+      return empty();
+    return new LazyDoubleSeq(new Predicate<DoubleConsumer>() {
+      DoubleSeq rest = DoubleSeq.this;
+
+      @Override
+      public boolean test(final DoubleConsumer c) {
+        while (!this.rest.isEmpty()) {
+          final double i = this.rest.headDouble();
+          this.rest = this.rest.tail();
+          if (predicate.test(i)) {
+            c.accept(i);
+            return true;
+          }
+        }
+        return false;
+      }
+    });
+  }
+
+  @Override
+  public default DoubleSeq take(final long n) {
+    if (n <= 0 || this.isEmpty())
+      return empty();
+    if (n == INFINITY)
+      return this;
+    return new LazyDoubleSeq(new Predicate<DoubleConsumer>() {
+      DoubleSeq rest      = DoubleSeq.this;
+      long   remaining = n;
+
+      @Override
+      public boolean test(final DoubleConsumer c) {
+        if (this.remaining == 0 || this.rest.isEmpty())
+          return false;
+        this.remaining--;
+        c.accept(this.rest.headDouble());
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  @Override
+  public default DoubleSeq drop(final long n) {
+    DoubleSeq s = this;
+    for (long i = n; i > 0; i--) {
+      if (s.isEmpty())
+        return empty();
+      s = s.tail();
+    }
+    return s;
+  }
+
+  @Override
+  public default DoubleSeq reverse() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length < 0 || length == INFINITY)
+      // The length might be infinite, so the sequence is reversed when it is accessed.
+      return generate(new Predicate<DoubleConsumer>() {
+        private double[] reversed = null;
+        private int      index;
+
+        @Override
+        public boolean test(final DoubleConsumer consumer) {
+          if (this.reversed == null) {
+            this.reversed = DoubleSeq.this.toDoubleArray();
+            this.index = this.reversed.length;
+          }
+          if (this.index == 0)
+            return false;
+          consumer.accept(this.reversed[--this.index]);
+          return true;
+        }
+      });
+    final double[] array = this.toDoubleArray();
+    for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+      final double x = array[i];
+      array[i] = array[j];
+      array[j] = x;
+    }
+    return new DoubleArraySeq(array, 0, array.length);
+  }
+
+  public default PrimitiveIterator.OfDouble doubleIterator() {
+    return new PrimitiveIterator.OfDouble() {
+      DoubleSeq remaining = DoubleSeq.this;
+
+      @Override
+      public boolean hasNext() {
+        return !this.remaining.isEmpty();
+      }
+
+      @Override
+      public double nextDouble() {
+        if (this.remaining.isEmpty())
+          throw new NoSuchElementException();
+        final double i = this.remaining.headDouble();
+        this.remaining = this.remaining.tail();
+        return i;
+      }
+    };
+  }
+
+  public default DoubleStream doubleStream() {
+    return StreamSupport.doubleStream(
+        Spliterators.spliteratorUnknownSize(this.doubleIterator(), Spliterator.ORDERED
+            | Spliterator.IMMUTABLE), false);
+  }
+
+  public default double[] toDoubleArray() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length > Integer.MAX_VALUE - 8)
+      throw new OutOfMemoryError();
+    if (length < 0)
+      return this.doubleStream().toArray();
+    final double[] result = new double[(int) length];
+    int i = 0;
+    for (final PrimitiveIterator.OfDouble itr = this.doubleIterator(); itr.hasNext();)
+      result[i++] = itr.nextDouble();
+    return result;
+  }
+}
@@ -0,0 +1,146 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/** View of a finite sequence with a hash index of its elements. The index is built on the first
+ * lookup, by one thread, and then shared by all threads. contains, indexOf, lastIndexOf and
+ * distinct take constant time on average after that. All other methods are delegated to the
+ * sequence. */
+public final class IndexedSeq<E> extends AbstractSeq<E> {
+  private final Seq<E>                        seq;
+  /** Index of the first and the last occurrence of each element, in order of first occurrence.
+   * null until built. */
+  private volatile LinkedHashMap<Object, int[]> index = null;
+
+  private IndexedSeq(final Seq<E> seq) {
+    super();
+    this.seq = seq;
+  }
+
+  static <E> Seq<E> of(final Seq<E> seq) {
+    requireNonNull(seq, "seq");
+    if (seq instanceof IndexedSeq || seq.isEmpty())
+      return seq;
+    if (knownLength(seq) == INFINITY)
+      throw new IllegalArgumentException("infinite sequence");
+    return new IndexedSeq<>(seq);
+  }
+
+  private LinkedHashMap<Object, int[]> index() {
+    LinkedHashMap<Object, int[]> index = this.index;
+    if (index == null)
+      synchronized (this) {
+        index = this.index;
+        if (index == null) {
+          final LinkedHashMap<Object, int[]> map = new LinkedHashMap<>();
+          int i = 0;
+          for (final E e : this.seq) {
+            final int position = i++;
+            map.merge(e, new int[] { position, position }, (a, b) -> {
+              a[1] = position;
+              return a;
+            });
+          }
+          this.index = index = map;
+        }
+      }
+    return index;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.index().containsKey(o);
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    final int[] positions = this.index().get(o);
+    return positions == null ? -1 : positions[0];
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    final int[] positions = this.index().get(o);
+    return positions == null ? -1 : positions[1];
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Seq<E> distinct() {
+    final LinkedHashMap<Object, int[]> index = this.index();
+    if (index.size() == this.length())
+      return this;
+    return (Seq<E>) Seq.of(index.keySet().toArray());
+  }
+
+  @Override
+  public Seq<E> indexed() {
+    return this;
+  }
+
+  @Override
+  public E head() {
+    return this.seq.head();
+  }
+
+  @Override
+  public Seq<E> tail() {
+    return this.seq.tail();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public long length() {
+    return this.seq.length();
+  }
+
+  @Override
+  long knownLength() {
+    return knownLength(this.seq);
+  }
+
+  @Override
+  public E get(final int index) {
+    return this.seq.get(index);
+  }
+
+  @Override
+  public E last() {
+    return this.seq.last();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return this.seq.iterator();
+  }
+
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    this.seq.forEach(action);
+  }
+
+  @Override
+  public Object[] toArray() {
+    return this.seq.toArray();
+  }
+
+  @Override
+  public Stream<E> stream() {
+    return this.seq.stream();
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    return this.seq.spliterator();
+  }
+}
@@ -0,0 +1,152 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.ORDERED;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/** Sequence of ints, backed by a window {@code [from, to)} of an array. */
+public final class IntArraySeq extends AbstractSeq<Integer> implements IntSeq {
+  static final IntArraySeq EMPTY = new IntArraySeq(new int[0], 0, 0);
+
+  private final int[] array;
+  private final int   from;
+  private final int   to;
+
+  IntArraySeq(final int[] array, final int from, final int to) {
+    super();
+    requireNonNull(array, "array");
+    this.array = array;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public int headInt() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return this.array[this.from];
+  }
+
+  @Override
+  public IntSeq tail() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return new IntArraySeq(this.array, this.from + 1, this.to);
+  }
+
+  @Override
+  public long length() {
+    return this.to - this.from;
+  }
+
+  @Override
+  long knownLength() {
+    return this.to - this.from;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.from == this.to;
+  }
+
+  @Override
+  public int getInt(final long index) {
+    if (index < 0 || index >= this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    return this.array[this.from + (int) index];
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return this.getInt(index);
+  }
+
+  @Override
+  public IntSeq take(final long n) {
+    if (n <= 0)
+      return IntSeq.empty();
+    if (n >= this.to - this.from)
+      return this;
+    return new IntArraySeq(this.array, this.from, this.from + (int) n);
+  }
+
+  @Override
+  public IntSeq drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.to - this.from)
+      return IntSeq.empty();
+    return new IntArraySeq(this.array, this.from + (int) n, this.to);
+  }
+
+  @Override
+  public int foldLeftInt(final IntBinaryOperator accumulator, final int identity) {
+    requireNonNull(accumulator, "accumulator");
+    int result = identity;
+    for (int i = this.from; i < this.to; i++)
+      result = accumulator.applyAsInt(result, this.array[i]);
+    return result;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    if (!(o instanceof Integer))
+      return false;
+    final int value = (Integer) o;
+    for (int i = this.from; i < this.to; i++)
+      if (this.array[i] == value)
+        return true;
+    return false;
+  }
+
+  @Override
+  public IntSeq reverse() {
+    final int length = this.to - this.from;
+    if (length <= 1)
+      return this;
+    final int[] reversed = new int[length];
+    for (int i = 0; i < length; i++)
+      reversed[i] = this.array[this.to - 1 - i];
+    return new IntArraySeq(reversed, 0, length);
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt intIterator() {
+    return Spliterators.iterator(this.spliterator());
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return this.intIterator();
+  }
+
+  @Override
+  public IntStream intStream() {
+    return Arrays.stream(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Stream<Integer> stream() {
+    return this.intStream().boxed();
+  }
+
+  @Override
+  public int[] toIntArray() {
+    return Arrays.copyOfRange(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return Spliterators.spliterator(this.array, this.from, this.to, ORDERED | IMMUTABLE);
+  }
+}
@@ -0,0 +1,241 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** Arithmetic sequence of ints: {@code start, start+step, start+2*step, ...}. All elements are
+ * calculated, so get, contains, indexOf, take, drop, reverse and last are O(1). */
+public final class IntRangeSeq extends AbstractSeq<Integer> implements IntSeq {
+  private final int  start;
+  /** A long, so that the step of the reversed sequence can't overflow. */
+  private final long step;
+  private final long length;
+
+  IntRangeSeq(final int start, final long step, final long length) {
+    super();
+    if (step == 0 || length < 0)
+      throw new IllegalArgumentException();
+    this.start = start;
+    this.step = step;
+    this.length = length;
+  }
+
+  /** Range from start (inclusive) to end (exclusive) with the given step. The step can be negative,
+   * but not zero. */
+  static IntSeq of(final int start, final int end, final int step) {
+    if (step == 0)
+      throw new IllegalArgumentException("step must not be 0");
+    final long diff = step > 0 ? (long) end - start : (long) start - end;
+    if (diff < 0)
+      throw new IllegalArgumentException();
+    if (diff == 0)
+      return IntSeq.empty();
+    final long absStep = Math.abs((long) step);
+    return new IntRangeSeq(start, step, (diff - 1) / absStep + 1);
+  }
+
+  private int element(final long index) {
+    return (int) (this.start + index * this.step);
+  }
+
+  @Override
+  public int headInt() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.start;
+  }
+
+  @Override
+  public IntSeq tail() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.drop(1);
+  }
+
+  @Override
+  public long length() {
+    return this.length;
+  }
+
+  @Override
+  long knownLength() {
+    return this.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.length == 0;
+  }
+
+  @Override
+  public int getInt(final long index) {
+    if (index < 0 || index >= this.length)
+      throw new IndexOutOfBoundsException();
+    return this.element(index);
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return this.getInt(index);
+  }
+
+  @Override
+  public Integer last() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.element(this.length - 1);
+  }
+
+  /** Position of the given value, or -1. */
+  private long position(final Object o) {
+    if (!(o instanceof Integer))
+      return -1;
+    final long diff = (long) (Integer) o - this.start;
+    if (diff % this.step != 0)
+      return -1;
+    final long index = diff / this.step;
+    return index >= 0 && index < this.length ? index : -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.position(o) != -1;
+  }
+
+  /** The index, or -1. An index that is too large for an int is {@link Integer#MAX_VALUE}, just
+   * like the {@link #size()}. */
+  @Override
+  public int indexOf(final Object o) {
+    return (int) Math.min(this.position(o), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    // All elements are distinct.
+    return this.indexOf(o);
+  }
+
+  @Override
+  public IntSeq take(final long n) {
+    if (n <= 0)
+      return IntSeq.empty();
+    if (n >= this.length)
+      return this;
+    return new IntRangeSeq(this.start, this.step, n);
+  }
+
+  @Override
+  public IntSeq drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.length)
+      return IntSeq.empty();
+    return new IntRangeSeq(this.element(n), this.step, this.length - n);
+  }
+
+  @Override
+  public IntSeq reverse() {
+    if (this.length <= 1)
+      return this;
+    return new IntRangeSeq(this.element(this.length - 1), -this.step, this.length);
+  }
+
+  @Override
+  public int foldLeftInt(final IntBinaryOperator accumulator, final int identity) {
+    requireNonNull(accumulator, "accumulator");
+    int result = identity;
+    for (long i = 0; i < this.length; i++)
+      result = accumulator.applyAsInt(result, this.element(i));
+    return result;
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt intIterator() {
+    return Spliterators.iterator(this.spliterator());
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return this.intIterator();
+  }
+
+  @Override
+  public IntStream intStream() {
+    return StreamSupport.intStream(this.spliterator(), false);
+  }
+
+  @Override
+  public Stream<Integer> stream() {
+    return this.intStream().boxed();
+  }
+
+  @Override
+  public Stream<Integer> parallelStream() {
+    return StreamSupport.intStream(this.spliterator(), true).boxed();
+  }
+
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return new RangeSpliterator(0, this.length);
+  }
+
+  /** Splits the index range {@code [index, fence)} in halves. */
+  private final class RangeSpliterator implements Spliterator.OfInt {
+    private long       index;
+    private final long fence;
+
+    RangeSpliterator(final long index, final long fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+      final long lo = this.index, mid = (lo + this.fence) >>> 1;
+      if (lo >= mid)
+        return null;
+      this.index = mid;
+      return new RangeSpliterator(lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.fence)
+        return false;
+      action.accept(IntRangeSeq.this.element(this.index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      requireNonNull(action, "action");
+      final long fence = this.fence;
+      long i = this.index;
+      this.index = fence;
+      for (; i < fence; i++)
+        action.accept(IntRangeSeq.this.element(i));
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED | DISTINCT | NONNULL;
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/** Sequence of primitive int values. The elements are stored unboxed, the methods of {@link Seq}
+ * box on access. So an IntSeq can be used wherever a {@code Seq<Integer>} is expected. */
+public interface IntSeq extends Seq<Integer> {
+
+  public static IntSeq empty() {
+    return IntArraySeq.EMPTY;
+  }
+
+  /** Creates a clone of the given elements. */
+  public static IntSeq of(final int... elements) {
+    requireNonNull(elements, "elements");
+    if (elements.length == 0)
+      return empty();
+    return new IntArraySeq(elements.clone(), 0, elements.length);
+  }
+
+  /** Lazy sequence that returns elements until any exception is thrown. */
+  public static IntSeq generate(final IntSupplier supplier) {
+    requireNonNull(supplier, "supplier");
+    return new LazyIntSeq(c -> {
+      try {
+        c.accept(supplier.getAsInt());
+        return true;
+      } catch (final Throwable e) {
+        return false;
+      }
+    });
+  }
+
+  /** Lazy sequence that returns elements as long as the generator returns true. */
+  public static IntSeq generate(final Predicate<IntConsumer> generator) {
+    return new LazyIntSeq(generator);
+  }
+
+  /** Lazy sequence of seed, f(seed), f(f(seed)) etc. Ends when f throws any exception. */
+  public static IntSeq iterate(final int seed, final IntUnaryOperator f) {
+    requireNonNull(f, "f");
+    return new LazyIntSeq(new Predicate<IntConsumer>() {
+      int next = seed;
+
+      @Override
+      public boolean test(final IntConsumer c) {
+        try {
+          final int i = this.next;
+          this.next = f.applyAsInt(i);
+          c.accept(i);
+          return true;
+        } catch (final Throwable e) {
+          return false;
+        }
+      }
+    });
+  }
+
+  /** Extract the first element of a list, which must be non-empty. */
+  public abstract int headInt();
+
+  @Override
+  public default Integer head() {
+    return this.headInt();
+  }
+
+  @Override
+  public abstract IntSeq tail();
+
+  /** Element at the given position. */
+  public default int getInt(final long index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    IntSeq s = this;
+    for (long i = index; i > 0; i--) {
+      if (s.isEmpty())
+        throw new IndexOutOfBoundsException();
+      s = s.tail();
+    }
+    if (s.isEmpty())
+      throw new IndexOutOfBoundsException();
+    return s.headInt();
+  }
+
+  public default int foldLeftInt(final IntBinaryOperator accumulator, final int identity) {
+    requireNonNull(accumulator, "accumulator");
+    int result = identity;
+    for (final PrimitiveIterator.OfInt itr = this.intIterator(); itr.hasNext();)
+      result = accumulator.applyAsInt(result, itr.nextInt());
+    return result;
+  }
+
+  public default IntSeq mapInt(final IntUnaryOperator mapper) {
+    requireNonNull(mapper, "mapper");
+    if (this.isEmpty())
+      return empty();
+    return new LazyIntSeq(new Predicate<IntConsumer>() {
+      IntSeq rest = IntSeq.this;
+
+      @Override
+      public boolean test(final IntConsumer c) {
+        if (this.rest.isEmpty())
+          return false;
+        c.accept(mapper.applyAsInt(this.rest.headInt()));
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  public default IntSeq filterInt(final IntPredicate predicate) {
+    requireNonNull(predicate, "predicate");
+    if (this.isEmpty())
+      return empty();
+    return new LazyIntSeq(new Predicate<IntConsumer>() {
+      IntSeq rest = IntSeq.this;
+
+      @Override
+      public boolean test(final IntConsumer c) {
+        while (!this.rest.isEmpty()) {
+          final int i = this.rest.headInt();
+          this.rest = this.rest.tail();
+          if (predicate.test(i)) {
+            c.accept(i);
+            return true;
+          }
+        }
+        return false;
+      }
+    });
+  }
+
+  @Override
+  public default IntSeq take(final long n) {
+    if (n <= 0 || this.isEmpty())
+      return empty();
+    if (n == INFINITY)
+      return this;
+    return new LazyIntSeq(new Predicate<IntConsumer>() {
+      IntSeq rest      = IntSeq.this;
+      long   remaining = n;
+
+      @Override
+      public boolean test(final IntConsumer c) {
+        if (this.remaining == 0 || this.rest.isEmpty())
+          return false;
+        this.remaining--;
+        c.accept(this.rest.headInt());
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  @Override
+  public default IntSeq drop(final long n) {
+    IntSeq s = this;
+    for (long i = n; i > 0; i--) {
+      if (s.isEmpty())
+        return empty();
+      s = s.tail();
+    }
+    return s;
+  }
+
+  @Override
+  public default IntSeq reverse() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length < 0 || length == INFINITY)
+      // The length might be infinite, so the sequence is reversed when it is accessed.
+      return generate(new Predicate<IntConsumer>() {
+        private int[] reversed = null;
+        private int   index;
+
+        @Override
+        public boolean test(final IntConsumer consumer) {
+          if (this.reversed == null) {
+            this.reversed = IntSeq.this.toIntArray();
+            this.index = this.reversed.length;
+          }
+          if (this.index == 0)
+            return false;
+          consumer.accept(this.reversed[--this.index]);
+          return true;
+        }
+      });
+    final int[] array = this.toIntArray();
+    for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+      final int x = array[i];
+      array[i] = array[j];
+      array[j] = x;
+    }
+    return new IntArraySeq(array, 0, array.length);
+  }
+
+  public default PrimitiveIterator.OfInt intIterator() {
+    return new PrimitiveIterator.OfInt() {
+      IntSeq remaining = IntSeq.this;
+
+      @Override
+      public boolean hasNext() {
+        return !this.remaining.isEmpty();
+      }
+
+      @Override
+      public int nextInt() {
+        if (this.remaining.isEmpty())
+          throw new NoSuchElementException();
+        final int i = this.remaining.headInt();
+        this.remaining = this.remaining.tail();
+        return i;
+      }
+    };
+  }
+
+  public default IntStream intStream() {
+    return StreamSupport.intStream(
+        Spliterators.spliteratorUnknownSize(this.intIterator(), Spliterator.ORDERED
+            | Spliterator.IMMUTABLE), false);
+  }
+
+  public default int[] toIntArray() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length > Integer.MAX_VALUE - 8)
+      throw new OutOfMemoryError();
+    if (length < 0)
+      return this.intStream().toArray();
+    final int[] result = new int[(int) length];
+    int i = 0;
+    for (final PrimitiveIterator.OfInt itr = this.intIterator(); itr.hasNext();)
+      result[i++] = itr.nextInt();
+    return result;
+  }
+}
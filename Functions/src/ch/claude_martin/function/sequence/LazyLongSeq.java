@@ -0,0 +1,103 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/** Lazy sequence of longs. Returns elements as long as the generator returns true. */
+public final class LazyLongSeq extends AbstractLazySeq<Long, LazyLongSeq.Cell>
+    implements LongSeq {
+
+  /** Immutable head and tail of a forced node. */
+  static final class Cell {
+    final long        head;
+    /** null if empty. */
+    final LazyLongSeq tail;
+
+    Cell(final long head, final LazyLongSeq tail) {
+      this.head = head;
+      this.tail = tail;
+    }
+  }
+
+  private final static Cell             EMPTY_CELL = new Cell(0, null);
+  private final Predicate<LongConsumer> generator;
+  private volatile long                 _length    = -1;
+
+  LazyLongSeq(final Predicate<LongConsumer> generator) {
+    super();
+    requireNonNull(generator, "generator");
+    this.generator = generator;
+  }
+
+  @Override
+  Cell generate() {
+    final long[] head = { 0 };
+    final boolean exists = this.generator.test(x -> head[0] = x);
+    if (!exists) {
+      this._length = 0;
+      return EMPTY_CELL;
+    }
+    return new Cell(head[0], new LazyLongSeq(this.generator));
+  }
+
+  @Override
+  public long headLong() {
+    final Cell cell = this.cell();
+    if (cell.tail == null)
+      throw new NoSuchElementException();
+    return cell.head;
+  }
+
+  @Override
+  public LongSeq tail() {
+    final Cell cell = this.cell();
+    if (cell.tail == null)
+      throw new NoSuchElementException();
+    return cell.tail;
+  }
+
+  @Override
+  public Long get(final int index) {
+    return this.getLong(index);
+  }
+
+  @Override
+  public LongSeq reverse() {
+    return LongSeq.super.reverse();
+  }
+
+  @Override
+  public long length() {
+    long len = this._length;
+    if (len != -1)
+      return len;
+    // Count the nodes until one with a known length, without recursion:
+    long n = 0;
+    for (LazyLongSeq s = this; (len = s._length) == -1; n++) {
+      final Cell cell = s.cell();
+      if (cell.tail == null) {
+        len = 0;
+        break;
+      }
+      s = cell.tail;
+    }
+    // The counted nodes are forced, so their lengths are stored as well:
+    LazyLongSeq s = this;
+    for (long i = n; i > 0; i--, s = s.cell().tail)
+      s._length = len == INFINITY ? INFINITY : len + i;
+    return this._length;
+  }
+
+  @Override
+  long knownLength() {
+    return this._length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.cell().tail == null;
+  }
+}
@@ -0,0 +1,222 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashSet;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/** Generator of a lazy operator (map, filter, take, distinct, init, takeWhile, dropWhile, scanLeft)
+ * on one or more concatenated source sequences (the leaves of a {@link ConcatSeq}). The state of a
+ * traversal is kept in plain fields, so each element creates one node, without any tuples or
+ * atomic references. flatMap creates more than one element from one element, so it is a generator
+ * of its own.
+ *
+ * <p>
+ * Chained operators are not fused. Each operator returns a memoized sequence, which the caller can
+ * share, so the next operator reads its nodes as the source, instead of running the earlier
+ * operators again. Like other generators, the sequence ends when the operator throws an exception.
+ * The generator is invoked once per element, but never concurrently. */
+final class LazyOperator<E> implements Predicate<Consumer<E>> {
+  private static final int    MAP = 0, FILTER = 1, TAKE = 2, DISTINCT = 3, INIT = 4,
+      TAKE_WHILE = 5, DROP_WHILE = 6, SCAN = 7;
+  private static final Object NONE = new Object();
+
+  private final int      kind;
+  private final Object   arg;
+  /** Sources that are not yet traversed. */
+  private final Seq<?>[] sources;
+  private int            source    = 0;
+  private Seq<?>         rest;
+  /** Remaining elements for TAKE. */
+  private long           remaining;
+  /** State of DISTINCT (set), INIT (buffered element), DROP_WHILE (still dropping) and SCAN
+   * (aggregate). */
+  private Object         state;
+  private boolean        done      = false;
+
+  private LazyOperator(final Seq<?> seq, final int kind, final Object arg) {
+    // The leaves of a concatenation are traversed directly:
+    this.sources = seq instanceof ConcatSeq ? ((ConcatSeq<?>) seq).leaves() : new Seq<?>[] { seq };
+    this.rest = this.sources[0];
+    this.sources[0] = null;
+    this.kind = kind;
+    this.arg = arg;
+    if (kind == TAKE)
+      this.remaining = (Long) arg;
+    else if (kind == DISTINCT)
+      this.state = new HashSet<>();
+    else if (kind == INIT)
+      this.state = NONE;
+    else if (kind == DROP_WHILE)
+      this.state = Boolean.TRUE;
+    else if (kind == SCAN)
+      this.state = ((Object[]) arg)[1];
+  }
+
+  private static <R> Seq<R> of(final Seq<?> seq, final int kind, final Object arg) {
+    return new LazySeq<>(new LazyOperator<R>(seq, kind, arg));
+  }
+
+  static <E, R> Seq<R> map(final Seq<E> seq, final Function<? super E, ? extends R> mapper) {
+    requireNonNull(mapper, "mapper");
+    return of(seq, MAP, mapper);
+  }
+
+  static <E> Seq<E> filter(final Seq<E> seq, final Predicate<? super E> predicate) {
+    requireNonNull(predicate, "predicate");
+    return of(seq, FILTER, predicate);
+  }
+
+  static <E> Seq<E> take(final Seq<E> seq, final long n) {
+    return of(seq, TAKE, n);
+  }
+
+  static <E> Seq<E> distinct(final Seq<E> seq) {
+    return of(seq, DISTINCT, null);
+  }
+
+  static <E> Seq<E> init(final Seq<E> seq) {
+    return of(seq, INIT, null);
+  }
+
+  static <E> Seq<E> takeWhile(final Seq<E> seq, final Predicate<? super E> predicate) {
+    requireNonNull(predicate, "predicate");
+    return of(seq, TAKE_WHILE, predicate);
+  }
+
+  static <E> Seq<E> dropWhile(final Seq<E> seq, final Predicate<? super E> predicate) {
+    requireNonNull(predicate, "predicate");
+    return of(seq, DROP_WHILE, predicate);
+  }
+
+  /** The running aggregates, without the identity. */
+  static <E, B> Seq<B> scan(final Seq<E> seq, final BiFunction<? super B, ? super E, B> accumulator,
+      final B identity) {
+    requireNonNull(accumulator, "accumulator");
+    return of(seq, SCAN, new Object[] { accumulator, identity });
+  }
+
+  static <E, R> Seq<R> flatMap(final Seq<E> seq,
+      final Function<? super E, ? extends Seq<? extends R>> mapper) {
+    requireNonNull(seq, "seq");
+    requireNonNull(mapper, "mapper");
+    return Seq.generate(new FlatMap<>(seq, mapper));
+  }
+
+  /** Next element of the sources. Returns NONE if there is none or TAKE is exhausted. */
+  private Object pull() {
+    if (this.kind == TAKE && this.remaining == 0)
+      return NONE;
+    while (this.rest.isEmpty()) {
+      if (++this.source == this.sources.length)
+        return NONE;
+      this.rest = this.sources[this.source];
+      this.sources[this.source] = null;
+    }
+    final Object element = this.rest.head();
+    this.rest = this.rest.tail();
+    return element;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean test(final Consumer<E> consumer) {
+    try {
+      next: while (!this.done) {
+        Object e = this.pull();
+        if (e == NONE)
+          break;
+        switch (this.kind) {
+        case MAP:
+          e = ((Function<Object, Object>) this.arg).apply(e);
+          break;
+        case FILTER:
+          if (!((Predicate<Object>) this.arg).test(e))
+            continue next;
+          break;
+        case TAKE:
+          this.remaining--;
+          break;
+        case DISTINCT:
+          if (!((HashSet<Object>) this.state).add(e))
+            continue next;
+          break;
+        case INIT:
+          // The last element never leaves the buffer:
+          final Object buffered = this.state;
+          this.state = e;
+          if (buffered == NONE)
+            continue next;
+          e = buffered;
+          break;
+        case TAKE_WHILE:
+          if (!((Predicate<Object>) this.arg).test(e))
+            break next;
+          break;
+        case DROP_WHILE:
+          if (this.state != null) {
+            if (((Predicate<Object>) this.arg).test(e))
+              continue next;
+            this.state = null;
+          }
+          break;
+        case SCAN:
+          final Object accumulator = ((Object[]) this.arg)[0];
+          e = ((BiFunction<Object, Object, Object>) accumulator).apply(this.state, e);
+          this.state = e;
+          break;
+        default:
+          throw new AssertionError(this.kind);
+        }
+        consumer.accept((E) e);
+        return true;
+      }
+    } catch (final Throwable t) {
+      // ends the sequence, just as a generator that throws an exception.
+    }
+    this.done = true;
+    this.state = null;
+    this.rest = null;
+    return false;
+  }
+
+  /** Generator of the elements of the sequences that the mapper returns. It only refers to the
+   * rest of the source and of the current inner sequence. */
+  private static final class FlatMap<E, R> implements Predicate<Consumer<R>> {
+    private final Function<? super E, ? extends Seq<? extends R>> mapper;
+    private Seq<E>                                                rest;
+    private Seq<? extends R>                                      inner = Seq.empty();
+
+    FlatMap(final Seq<E> source, final Function<? super E, ? extends Seq<? extends R>> mapper) {
+      this.rest = source;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean test(final Consumer<R> consumer) {
+      try {
+        while (this.inner.isEmpty()) {
+          if (this.rest.isEmpty())
+            return this.end();
+          this.inner = requireNonNull(this.mapper.apply(this.rest.head()), "mapper result");
+          this.rest = this.rest.tail();
+        }
+        consumer.accept(this.inner.head());
+        this.inner = this.inner.tail();
+        return true;
+      } catch (final Throwable t) {
+        // ends the sequence, just as the other operators.
+        return this.end();
+      }
+    }
+
+    private boolean end() {
+      this.rest = Seq.empty();
+      this.inner = Seq.empty();
+      return false;
+    }
+  }
+}
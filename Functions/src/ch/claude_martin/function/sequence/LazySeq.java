@@ -8,19 +8,30 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /** Returns elements until any exception is thrown. */
-public final class LazySeq<E> extends AbstractSeq<E> {
+public final class LazySeq<E> extends AbstractLazySeq<E, LazySeq.Cell<E>> {
 
-  private final static Object UNINITIALIZED = new Object();
+  /** Immutable head and tail of a forced node. */
+  static final class Cell<E> {
+    final E          head;
+    /** null if empty. */
+    final LazySeq<E> tail;
+
+    Cell(final E head, final LazySeq<E> tail) {
+      this.head = head;
+      this.tail = tail;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private final static Cell            EMPTY_CELL = new Cell<>(null, null);
   private final Predicate<Consumer<E>> generator;
-  @SuppressWarnings("unchecked")
-  private volatile E          _head         = (E) UNINITIALIZED;
-  private volatile Seq<E>     _tail         = null;
-  private volatile long       _length       = -1;
+  private volatile long                _length    = -1;
 
   LazySeq(final Predicate<Consumer<E>> generator) {
     requireNonNull(generator, "generator");
     this.generator = generator;
   }
+
   LazySeq(final Callable<E> callable) {
     super();
     requireNonNull(callable, "callable");
@@ -35,50 +46,31 @@ public final class LazySeq<E> extends AbstractSeq<E> {
   }
 
   @SuppressWarnings("unchecked")
-  private void lazyHeadTail() {
-    if (this._head != UNINITIALIZED && this._tail != null)
-      return;
-    synchronized (this) {
-      if (this._head != UNINITIALIZED)
-        return;
-      final boolean exisits = this.generator.test(x -> this._head = x);
-      if (!exisits) {
-        // This becomes am empty sequence:
-        this._head = (E) NOTHING;
-        this._tail = null;
-        this._length = 0;
-        assert this.isEmpty();
-        return;
-      }
-      this._tail = new LazySeq<>(this.generator);
+  @Override
+  Cell<E> generate() {
+    final Object[] head = { null };
+    final boolean exists = this.generator.test(x -> head[0] = x);
+    if (!exists) {
+      this._length = 0;
+      return EMPTY_CELL;
     }
+    return new Cell<>((E) head[0], new LazySeq<>(this.generator));
   }
 
   @Override
   public E head() {
-    E head = this._head;
-    if (head == UNINITIALIZED) {
-      this.lazyHeadTail();
-      head = this._head;
-    }
-
-    if (head == NOTHING)
+    final Cell<E> cell = this.cell();
+    if (cell.tail == null)
       throw new NoSuchElementException();
-    return head;
+    return cell.head;
   }
 
   @Override
   public Seq<E> tail() {
-    E head = this._head;
-    Seq<E> tail = this._tail;
-    if (head == UNINITIALIZED || tail == null) {
-      this.lazyHeadTail();
-      head = this._head;
-      tail = this._tail;
-    }
-    if (tail == null)
+    final Cell<E> cell = this.cell();
+    if (cell.tail == null)
       throw new NoSuchElementException();
-    return tail;
+    return cell.tail;
   }
 
   @Override
@@ -86,24 +78,30 @@ public final class LazySeq<E> extends AbstractSeq<E> {
     long len = this._length;
     if (len != -1)
       return len;
-
-    if (this.isEmpty())
-      len = 0;
-    else {
-      len = this.tail().length();
-      if (len != Long.MAX_VALUE)
-        len++;
+    // Count the nodes until one with a known length, without recursion:
+    long n = 0;
+    for (LazySeq<E> s = this; (len = s._length) == -1; n++) {
+      final Cell<E> cell = s.cell();
+      if (cell.tail == null) {
+        len = 0;
+        break;
+      }
+      s = cell.tail;
     }
-    return this._length = len;
+    // The counted nodes are forced, so their lengths are stored as well:
+    LazySeq<E> s = this;
+    for (long i = n; i > 0; i--, s = s.cell().tail)
+      s._length = len == INFINITY ? INFINITY : len + i;
+    return this._length;
+  }
+
+  @Override
+  long knownLength() {
+    return this._length;
   }
 
   @Override
   public boolean isEmpty() {
-    E head = this._head;
-    if (head == UNINITIALIZED) {
-      this.lazyHeadTail();
-      head = this._head;
-    }
-    return head == NOTHING;
+    return this.cell().tail == null;
   }
 }
@@ -2,13 +2,12 @@ package ch.claude_martin.function.sequence;
 
 import java.util.NoSuchElementException;
 
-import ch.claude_martin.function.Functions;
-
 /** Sequence implemented as finite, linked list. */
 public final class LinkedSeq<E> extends AbstractSeq<E> implements Seq<E> {
-  final E      _head;
-  final long   _length;
-  final Seq<E> _tail;
+  final E       _head;
+  /** -1 until the length of the tail is known. */
+  volatile long _length;
+  final Seq<E>  _tail;
 
   @Override
   public final E head() {
@@ -34,15 +33,34 @@ public final class LinkedSeq<E> extends AbstractSeq<E> implements Seq<E> {
   LinkedSeq(final E head, final Seq<E> tail) {
     this._head = head;
     this._tail = tail;
-    if (tail.isFinite())
-      this._length = 1 + tail.length();
-    else
-      this._length = Long.MAX_VALUE;
+    // The tail is not forced, so it can be lazy and infinite.
+    final long length = knownLength(tail);
+    this._length = length == -1 ? -1 : length == INFINITY ? INFINITY : 1 + length;
   }
 
   @Override
   public long length() {
-    assert Functions.stream((Seq<E>) this, Seq::tail, EMPTY).count() == this._length;
+    long length = this._length;
+    if (length != -1)
+      return length;
+    // Count the nodes with unknown length, without recursion:
+    long n = 0;
+    Seq<E> s = this;
+    while (s instanceof LinkedSeq && ((LinkedSeq<E>) s)._length == -1) {
+      n++;
+      s = ((LinkedSeq<E>) s)._tail;
+    }
+    length = s.length();
+    return this._length = length == INFINITY ? INFINITY : length + n;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this._tail == null;
+  }
+
+  @Override
+  long knownLength() {
     return this._length;
   }
 
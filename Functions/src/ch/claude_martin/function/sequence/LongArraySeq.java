@@ -0,0 +1,152 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.ORDERED;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/** Sequence of longs, backed by a window {@code [from, to)} of an array. */
+public final class LongArraySeq extends AbstractSeq<Long> implements LongSeq {
+  static final LongArraySeq EMPTY = new LongArraySeq(new long[0], 0, 0);
+
+  private final long[] array;
+  private final int    from;
+  private final int    to;
+
+  LongArraySeq(final long[] array, final int from, final int to) {
+    super();
+    requireNonNull(array, "array");
+    this.array = array;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public long headLong() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return this.array[this.from];
+  }
+
+  @Override
+  public LongSeq tail() {
+    if (this.from == this.to)
+      throw new NoSuchElementException();
+    return new LongArraySeq(this.array, this.from + 1, this.to);
+  }
+
+  @Override
+  public long length() {
+    return this.to - this.from;
+  }
+
+  @Override
+  long knownLength() {
+    return this.to - this.from;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.from == this.to;
+  }
+
+  @Override
+  public long getLong(final long index) {
+    if (index < 0 || index >= this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    return this.array[this.from + (int) index];
+  }
+
+  @Override
+  public Long get(final int index) {
+    return this.getLong(index);
+  }
+
+  @Override
+  public LongSeq take(final long n) {
+    if (n <= 0)
+      return LongSeq.empty();
+    if (n >= this.to - this.from)
+      return this;
+    return new LongArraySeq(this.array, this.from, this.from + (int) n);
+  }
+
+  @Override
+  public LongSeq drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.to - this.from)
+      return LongSeq.empty();
+    return new LongArraySeq(this.array, this.from + (int) n, this.to);
+  }
+
+  @Override
+  public long foldLeftLong(final LongBinaryOperator accumulator, final long identity) {
+    requireNonNull(accumulator, "accumulator");
+    long result = identity;
+    for (int i = this.from; i < this.to; i++)
+      result = accumulator.applyAsLong(result, this.array[i]);
+    return result;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    if (!(o instanceof Long))
+      return false;
+    final long value = (Long) o;
+    for (int i = this.from; i < this.to; i++)
+      if (this.array[i] == value)
+        return true;
+    return false;
+  }
+
+  @Override
+  public LongSeq reverse() {
+    final int length = this.to - this.from;
+    if (length <= 1)
+      return this;
+    final long[] reversed = new long[length];
+    for (int i = 0; i < length; i++)
+      reversed[i] = this.array[this.to - 1 - i];
+    return new LongArraySeq(reversed, 0, length);
+  }
+
+  @Override
+  public PrimitiveIterator.OfLong longIterator() {
+    return Spliterators.iterator(this.spliterator());
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    return this.longIterator();
+  }
+
+  @Override
+  public LongStream longStream() {
+    return Arrays.stream(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Stream<Long> stream() {
+    return this.longStream().boxed();
+  }
+
+  @Override
+  public long[] toLongArray() {
+    return Arrays.copyOfRange(this.array, this.from, this.to);
+  }
+
+  @Override
+  public Spliterator.OfLong spliterator() {
+    return Spliterators.spliterator(this.array, this.from, this.to, ORDERED | IMMUTABLE);
+  }
+}
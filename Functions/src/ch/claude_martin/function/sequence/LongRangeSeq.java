@@ -0,0 +1,249 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Spliterator.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** Arithmetic sequence of longs: {@code start, start+step, start+2*step, ...}. All elements are
+ * calculated, so get, contains, indexOf, take, drop, reverse and last are O(1). */
+public final class LongRangeSeq extends AbstractSeq<Long> implements LongSeq {
+  private final long start;
+  private final long step;
+  private final long length;
+
+  LongRangeSeq(final long start, final long step, final long length) {
+    super();
+    if (step == 0 || length < 0)
+      throw new IllegalArgumentException();
+    this.start = start;
+    this.step = step;
+    this.length = length;
+  }
+
+  /** Range from start (inclusive) to end (exclusive) with the given step. The step can be negative,
+   * but neither zero nor {@link Long#MIN_VALUE}. */
+  static LongSeq of(final long start, final long end, final long step) {
+    if (step == 0 || step == Long.MIN_VALUE)
+      throw new IllegalArgumentException("illegal step: " + step);
+    if (step > 0 ? end < start : end > start)
+      throw new IllegalArgumentException();
+    if (end == start)
+      return LongSeq.empty();
+    // The difference can be larger than Long.MAX_VALUE, so it is used as an unsigned value:
+    final long diff = step > 0 ? end - start : start - end;
+    final long length = Long.divideUnsigned(diff - 1, Math.abs(step)) + 1;
+    if (length <= 0 || length == INFINITY)
+      throw new IllegalArgumentException("too many elements");
+    return new LongRangeSeq(start, step, length);
+  }
+
+  private long element(final long index) {
+    // This can overflow, but the result is still correct:
+    return this.start + index * this.step;
+  }
+
+  @Override
+  public long headLong() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.start;
+  }
+
+  @Override
+  public LongSeq tail() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.drop(1);
+  }
+
+  @Override
+  public long length() {
+    return this.length;
+  }
+
+  @Override
+  long knownLength() {
+    return this.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.length == 0;
+  }
+
+  @Override
+  public long getLong(final long index) {
+    if (index < 0 || index >= this.length)
+      throw new IndexOutOfBoundsException();
+    return this.element(index);
+  }
+
+  @Override
+  public Long get(final int index) {
+    return this.getLong(index);
+  }
+
+  @Override
+  public Long last() {
+    if (this.length == 0)
+      throw new NoSuchElementException();
+    return this.element(this.length - 1);
+  }
+
+  /** Position of the given value, or -1. */
+  private long position(final Object o) {
+    if (!(o instanceof Long))
+      return -1;
+    final long value = (Long) o;
+    if (this.step > 0 ? value < this.start : value > this.start)
+      return -1;
+    // unsigned, because it can be larger than Long.MAX_VALUE:
+    final long diff = this.step > 0 ? value - this.start : this.start - value;
+    final long absStep = Math.abs(this.step);
+    if (Long.remainderUnsigned(diff, absStep) != 0)
+      return -1;
+    final long index = Long.divideUnsigned(diff, absStep);
+    return index >= 0 && index < this.length ? index : -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.position(o) != -1;
+  }
+
+  /** The index, or -1. An index that is too large for an int is {@link Integer#MAX_VALUE}, just
+   * like the {@link #size()}. */
+  @Override
+  public int indexOf(final Object o) {
+    return (int) Math.min(this.position(o), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    // All elements are distinct.
+    return this.indexOf(o);
+  }
+
+  @Override
+  public LongSeq take(final long n) {
+    if (n <= 0)
+      return LongSeq.empty();
+    if (n >= this.length)
+      return this;
+    return new LongRangeSeq(this.start, this.step, n);
+  }
+
+  @Override
+  public LongSeq drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.length)
+      return LongSeq.empty();
+    return new LongRangeSeq(this.element(n), this.step, this.length - n);
+  }
+
+  @Override
+  public LongSeq reverse() {
+    if (this.length <= 1)
+      return this;
+    return new LongRangeSeq(this.element(this.length - 1), -this.step, this.length);
+  }
+
+  @Override
+  public long foldLeftLong(final LongBinaryOperator accumulator, final long identity) {
+    requireNonNull(accumulator, "accumulator");
+    long result = identity;
+    for (long i = 0; i < this.length; i++)
+      result = accumulator.applyAsLong(result, this.element(i));
+    return result;
+  }
+
+  @Override
+  public PrimitiveIterator.OfLong longIterator() {
+    return Spliterators.iterator(this.spliterator());
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    return this.longIterator();
+  }
+
+  @Override
+  public LongStream longStream() {
+    return StreamSupport.longStream(this.spliterator(), false);
+  }
+
+  @Override
+  public Stream<Long> stream() {
+    return this.longStream().boxed();
+  }
+
+  @Override
+  public Stream<Long> parallelStream() {
+    return StreamSupport.longStream(this.spliterator(), true).boxed();
+  }
+
+  @Override
+  public Spliterator.OfLong spliterator() {
+    return new RangeSpliterator(0, this.length);
+  }
+
+  /** Splits the index range {@code [index, fence)} in halves. */
+  private final class RangeSpliterator implements Spliterator.OfLong {
+    private long       index;
+    private final long fence;
+
+    RangeSpliterator(final long index, final long fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public OfLong trySplit() {
+      final long lo = this.index, mid = (lo + this.fence) >>> 1;
+      if (lo >= mid)
+        return null;
+      this.index = mid;
+      return new RangeSpliterator(lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final LongConsumer action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.fence)
+        return false;
+      action.accept(LongRangeSeq.this.element(this.index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      requireNonNull(action, "action");
+      final long fence = this.fence;
+      long i = this.index;
+      this.index = fence;
+      for (; i < fence; i++)
+        action.accept(LongRangeSeq.this.element(i));
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED | DISTINCT | NONNULL;
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.*;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/** Sequence of primitive long values. The elements are stored unboxed, the methods of {@link Seq}
+ * box on access. So an LongSeq can be used wherever a {@code Seq<Long>} is expected. */
+public interface LongSeq extends Seq<Long> {
+
+  public static LongSeq empty() {
+    return LongArraySeq.EMPTY;
+  }
+
+  /** Creates a clone of the given elements. */
+  public static LongSeq of(final long... elements) {
+    requireNonNull(elements, "elements");
+    if (elements.length == 0)
+      return empty();
+    return new LongArraySeq(elements.clone(), 0, elements.length);
+  }
+
+  /** Lazy sequence that returns elements until any exception is thrown. */
+  public static LongSeq generate(final LongSupplier supplier) {
+    requireNonNull(supplier, "supplier");
+    return new LazyLongSeq(c -> {
+      try {
+        c.accept(supplier.getAsLong());
+        return true;
+      } catch (final Throwable e) {
+        return false;
+      }
+    });
+  }
+
+  /** Lazy sequence that returns elements as long as the generator returns true. */
+  public static LongSeq generate(final Predicate<LongConsumer> generator) {
+    return new LazyLongSeq(generator);
+  }
+
+  /** Lazy sequence of seed, f(seed), f(f(seed)) etc. Ends when f throws any exception. */
+  public static LongSeq iterate(final long seed, final LongUnaryOperator f) {
+    requireNonNull(f, "f");
+    return new LazyLongSeq(new Predicate<LongConsumer>() {
+      long next = seed;
+
+      @Override
+      public boolean test(final LongConsumer c) {
+        try {
+          final long i = this.next;
+          this.next = f.applyAsLong(i);
+          c.accept(i);
+          return true;
+        } catch (final Throwable e) {
+          return false;
+        }
+      }
+    });
+  }
+
+  /** Extract the first element of a list, which must be non-empty. */
+  public abstract long headLong();
+
+  @Override
+  public default Long head() {
+    return this.headLong();
+  }
+
+  @Override
+  public abstract LongSeq tail();
+
+  /** Element at the given position. */
+  public default long getLong(final long index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    LongSeq s = this;
+    for (long i = index; i > 0; i--) {
+      if (s.isEmpty())
+        throw new IndexOutOfBoundsException();
+      s = s.tail();
+    }
+    if (s.isEmpty())
+      throw new IndexOutOfBoundsException();
+    return s.headLong();
+  }
+
+  public default long foldLeftLong(final LongBinaryOperator accumulator, final long identity) {
+    requireNonNull(accumulator, "accumulator");
+    long result = identity;
+    for (final PrimitiveIterator.OfLong itr = this.longIterator(); itr.hasNext();)
+      result = accumulator.applyAsLong(result, itr.nextLong());
+    return result;
+  }
+
+  public default LongSeq mapLong(final LongUnaryOperator mapper) {
+    requireNonNull(mapper, "mapper");
+    if (this.isEmpty())
+      return empty();
+    return new LazyLongSeq(new Predicate<LongConsumer>() {
+      LongSeq rest = LongSeq.this;
+
+      @Override
+      public boolean test(final LongConsumer c) {
+        if (this.rest.isEmpty())
+          return false;
+        c.accept(mapper.applyAsLong(this.rest.headLong()));
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  public default LongSeq filterLong(final LongPredicate predicate) {
+    requireNonNull(predicate, "predicate");
+    if (this.isEmpty())
+      return empty();
+    return new LazyLongSeq(new Predicate<LongConsumer>() {
+      LongSeq rest = LongSeq.this;
+
+      @Override
+      public boolean test(final LongConsumer c) {
+        while (!this.rest.isEmpty()) {
+          final long i = this.rest.headLong();
+          this.rest = this.rest.tail();
+          if (predicate.test(i)) {
+            c.accept(i);
+            return true;
+          }
+        }
+        return false;
+      }
+    });
+  }
+
+  @Override
+  public default LongSeq take(final long n) {
+    if (n <= 0 || this.isEmpty())
+      return empty();
+    if (n == INFINITY)
+      return this;
+    return new LazyLongSeq(new Predicate<LongConsumer>() {
+      LongSeq rest      = LongSeq.this;
+      long   remaining = n;
+
+      @Override
+      public boolean test(final LongConsumer c) {
+        if (this.remaining == 0 || this.rest.isEmpty())
+          return false;
+        this.remaining--;
+        c.accept(this.rest.headLong());
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
+  }
+
+  @Override
+  public default LongSeq drop(final long n) {
+    LongSeq s = this;
+    for (long i = n; i > 0; i--) {
+      if (s.isEmpty())
+        return empty();
+      s = s.tail();
+    }
+    return s;
+  }
+
+  @Override
+  public default LongSeq reverse() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length < 0 || length == INFINITY)
+      // The length might be infinite, so the sequence is reversed when it is accessed.
+      return generate(new Predicate<LongConsumer>() {
+        private long[] reversed = null;
+        private int    index;
+
+        @Override
+        public boolean test(final LongConsumer consumer) {
+          if (this.reversed == null) {
+            this.reversed = LongSeq.this.toLongArray();
+            this.index = this.reversed.length;
+          }
+          if (this.index == 0)
+            return false;
+          consumer.accept(this.reversed[--this.index]);
+          return true;
+        }
+      });
+    final long[] array = this.toLongArray();
+    for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+      final long x = array[i];
+      array[i] = array[j];
+      array[j] = x;
+    }
+    return new LongArraySeq(array, 0, array.length);
+  }
+
+  public default PrimitiveIterator.OfLong longIterator() {
+    return new PrimitiveIterator.OfLong() {
+      LongSeq remaining = LongSeq.this;
+
+      @Override
+      public boolean hasNext() {
+        return !this.remaining.isEmpty();
+      }
+
+      @Override
+      public long nextLong() {
+        if (this.remaining.isEmpty())
+          throw new NoSuchElementException();
+        final long i = this.remaining.headLong();
+        this.remaining = this.remaining.tail();
+        return i;
+      }
+    };
+  }
+
+  public default LongStream longStream() {
+    return StreamSupport.longStream(
+        Spliterators.spliteratorUnknownSize(this.longIterator(), Spliterator.ORDERED
+            | Spliterator.IMMUTABLE), false);
+  }
+
+  public default long[] toLongArray() {
+    final long length = AbstractSeq.knownLength(this);
+    if (length > Integer.MAX_VALUE - 8)
+      throw new OutOfMemoryError();
+    if (length < 0)
+      return this.longStream().toArray();
+    final long[] result = new long[(int) length];
+    int i = 0;
+    for (final PrimitiveIterator.OfLong itr = this.longIterator(); itr.hasNext();)
+      result[i++] = itr.nextLong();
+    return result;
+  }
+}
@@ -0,0 +1,376 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Quad;
+import ch.claude_martin.function.tuple.Triplet;
+
+/** Sequence of fixed-size records in a memory-mapped file. The elements are decoded on access, so
+ * the file can be much larger than the heap. take, drop, tail and subList are windows of the same
+ * mapping.
+ *
+ * <p>
+ * The file is mapped in segments of up to 1 GiB, because a buffer is indexed by int. A record never
+ * spans two segments. The file must not be modified while it is mapped. */
+public final class MappedSeq<E> extends AbstractSeq<E> implements RandomAccess {
+  /** Encodes and decodes records of a fixed size. */
+  public interface Format<E> {
+    /** Number of bytes of one record. */
+    int size();
+
+    /** Decodes the record at the given position, without changing the position of the buffer. */
+    E read(ByteBuffer buffer, int position);
+
+    /** Encodes a record at the current position of the buffer. */
+    void write(ByteBuffer buffer, E e);
+
+    public static final Format<Integer> INT    = of(Integer.BYTES, ByteBuffer::getInt,
+                                                   ByteBuffer::putInt);
+    public static final Format<Long>    LONG   = of(Long.BYTES, ByteBuffer::getLong,
+                                                   ByteBuffer::putLong);
+    public static final Format<Double>  DOUBLE = of(Double.BYTES, ByteBuffer::getDouble,
+                                                   ByteBuffer::putDouble);
+
+    /** Format of the given size, defined by two functions. */
+    public static <E> Format<E> of(final int size, final Reader<E> reader, final Writer<E> writer) {
+      if (size <= 0)
+        throw new IllegalArgumentException("size must be positive");
+      requireNonNull(reader, "reader");
+      requireNonNull(writer, "writer");
+      return new Format<E>() {
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public E read(final ByteBuffer buffer, final int position) {
+          return reader.read(buffer, position);
+        }
+
+        @Override
+        public void write(final ByteBuffer buffer, final E e) {
+          writer.write(buffer, e);
+        }
+      };
+    }
+
+    public static <A, B> Format<Pair<A, B>> pair(final Format<A> a, final Format<B> b) {
+      requireNonNull(a, "a");
+      requireNonNull(b, "b");
+      return of(a.size() + b.size(),
+          (buffer, p) -> Pair.of(a.read(buffer, p), b.read(buffer, p + a.size())), //
+          (buffer, e) -> {
+            a.write(buffer, e._1());
+            b.write(buffer, e._2());
+          });
+    }
+
+    public static <A, B, C> Format<Triplet<A, B, C>> triplet(final Format<A> a,
+        final Format<B> b, final Format<C> c) {
+      final Format<Pair<A, B>> ab = pair(a, b);
+      requireNonNull(c, "c");
+      return of(ab.size() + c.size(), (buffer, p) -> {
+        final Pair<A, B> x = ab.read(buffer, p);
+        return Triplet.of(x._1(), x._2(), c.read(buffer, p + ab.size()));
+      }, (buffer, e) -> {
+        a.write(buffer, e._1());
+        b.write(buffer, e._2());
+        c.write(buffer, e._3());
+      });
+    }
+
+    public static <A, B, C, D> Format<Quad<A, B, C, D>> quad(final Format<A> a,
+        final Format<B> b, final Format<C> c, final Format<D> d) {
+      final Format<Pair<A, B>> ab = pair(a, b);
+      final Format<Pair<C, D>> cd = pair(c, d);
+      return of(ab.size() + cd.size(), (buffer, p) -> {
+        final Pair<A, B> x = ab.read(buffer, p);
+        final Pair<C, D> y = cd.read(buffer, p + ab.size());
+        return Quad.of(x._1(), x._2(), y._1(), y._2());
+      }, (buffer, e) -> {
+        a.write(buffer, e._1());
+        b.write(buffer, e._2());
+        c.write(buffer, e._3());
+        d.write(buffer, e._4());
+      });
+    }
+  }
+
+  /** Decodes a record at an absolute position. */
+  @FunctionalInterface
+  public interface Reader<E> {
+    E read(ByteBuffer buffer, int position);
+  }
+
+  /** Encodes a record at the current position. */
+  @FunctionalInterface
+  public interface Writer<E> {
+    void write(ByteBuffer buffer, E e);
+  }
+
+  private static final int MAX_SEGMENT = 1 << 30;
+  private static final int WRITE_BUFFER = 1 << 16;
+
+  private final ByteBuffer[] segments;
+  /** Number of records in each segment. */
+  private final int          perSegment;
+  private final Format<E>    format;
+  private final long         from;
+  private final long         to;
+
+  private MappedSeq(final ByteBuffer[] segments, final int perSegment, final Format<E> format,
+      final long from, final long to) {
+    super();
+    assert from < to;
+    this.segments = segments;
+    this.perSegment = perSegment;
+    this.format = format;
+    this.from = from;
+    this.to = to;
+  }
+
+  /** Maps the given file as a sequence of records. The file is closed, but the mapping stays valid
+   * until the sequence is garbage collected.
+   *
+   * @throws IOException
+   *           if the file can't be read or its size is not a multiple of the record size. */
+  public static <E> Seq<E> open(final Path file, final Format<E> format) throws IOException {
+    requireNonNull(file, "file");
+    requireNonNull(format, "format");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long bytes = channel.size();
+      final int size = format.size();
+      if (bytes % size != 0)
+        throw new IOException("size of " + file + " is not a multiple of " + size);
+      final long records = bytes / size;
+      if (records == 0)
+        return Seq.empty();
+      final int perSegment = Math.max(1, MAX_SEGMENT / size);
+      final ByteBuffer[] segments = new ByteBuffer[(int) ((records - 1) / perSegment + 1)];
+      for (int i = 0; i < segments.length; i++) {
+        final long position = (long) i * perSegment * size;
+        segments[i] = channel.map(MapMode.READ_ONLY, position,
+            Math.min((long) perSegment * size, bytes - position));
+      }
+      return new MappedSeq<>(segments, perSegment, format, 0, records);
+    }
+  }
+
+  /** Writes all elements to the given file, which is created or truncated. The elements are
+   * encoded in batches, so the sequence is never copied as a whole.
+   *
+   * @return the number of records.
+   * @throws IllegalArgumentException
+   *           if the sequence is known to be infinite. */
+  public static <E> long write(final Path file, final Format<E> format,
+      final Seq<? extends E> seq) throws IOException {
+    requireNonNull(file, "file");
+    requireNonNull(format, "format");
+    requireNonNull(seq, "seq");
+    if (knownLength(seq) == INFINITY)
+      throw new IllegalArgumentException("infinite sequence");
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(WRITE_BUFFER, format.size()));
+    long records = 0;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      for (final E e : seq) {
+        if (buffer.remaining() < format.size())
+          flush(channel, buffer);
+        final int position = buffer.position();
+        format.write(buffer, e);
+        if (buffer.position() - position != format.size())
+          throw new IllegalStateException("format wrote " + (buffer.position() - position)
+              + " bytes instead of " + format.size());
+        records++;
+      }
+      flush(channel, buffer);
+    }
+    return records;
+  }
+
+  private static void flush(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+    buffer.clear();
+  }
+
+  /** Decodes the record at the given index of the file. */
+  private E decode(final long record) {
+    final int segment = (int) (record / this.perSegment);
+    final int position = (int) (record % this.perSegment) * this.format.size();
+    return this.format.read(this.segments[segment], position);
+  }
+
+  private Seq<E> window(final long from, final long to) {
+    if (from >= to)
+      return Seq.empty();
+    if (from == this.from && to == this.to)
+      return this;
+    return new MappedSeq<>(this.segments, this.perSegment, this.format, from, to);
+  }
+
+  @Override
+  public E head() {
+    return this.decode(this.from);
+  }
+
+  @Override
+  public Seq<E> tail() {
+    return this.window(this.from + 1, this.to);
+  }
+
+  @Override
+  public E last() {
+    return this.decode(this.to - 1);
+  }
+
+  @Override
+  public Seq<E> init() {
+    return this.window(this.from, this.to - 1);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public long length() {
+    return this.to - this.from;
+  }
+
+  @Override
+  long knownLength() {
+    return this.to - this.from;
+  }
+
+  @Override
+  public E get(final int index) {
+    return this.get((long) index);
+  }
+
+  /** Element at the given index. */
+  public E get(final long index) {
+    if (index < 0 || index >= this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    return this.decode(this.from + index);
+  }
+
+  @Override
+  public Seq<E> take(final long n) {
+    if (n >= this.to - this.from)
+      return this;
+    return this.window(this.from, this.from + Math.max(0, n));
+  }
+
+  @Override
+  public Seq<E> drop(final long n) {
+    if (n >= this.to - this.from)
+      return Seq.empty();
+    return this.window(this.from + Math.max(0, n), this.to);
+  }
+
+  @Override
+  public Seq<E> subList(final int fromIndex, final int toIndex) {
+    if (fromIndex < 0 || toIndex > this.to - this.from)
+      throw new IndexOutOfBoundsException();
+    if (fromIndex > toIndex)
+      throw new IllegalArgumentException("fromIndex > toIndex");
+    return this.window(this.from + fromIndex, this.from + toIndex);
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private long index = MappedSeq.this.from;
+
+      @Override
+      public boolean hasNext() {
+        return this.index < MappedSeq.this.to;
+      }
+
+      @Override
+      public E next() {
+        if (!this.hasNext())
+          throw new NoSuchElementException();
+        return MappedSeq.this.decode(this.index++);
+      }
+    };
+  }
+
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    for (long i = this.from; i < this.to; i++)
+      action.accept(this.decode(i));
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    return new RecordSpliterator(this.from, this.to);
+  }
+
+  /** Splits the range of records in halves. Reading a mapped buffer at absolute positions is thread
+   * safe, so the halves can be traversed in parallel. */
+  private final class RecordSpliterator implements Spliterator<E> {
+    private long index;
+    private final long to;
+
+    RecordSpliterator(final long from, final long to) {
+      this.index = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.to)
+        return false;
+      action.accept(MappedSeq.this.decode(this.index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      for (; this.index < this.to; this.index++)
+        action.accept(MappedSeq.this.decode(this.index));
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      final long mid = (this.index + this.to) >>> 1;
+      if (mid <= this.index)
+        return null;
+      final Spliterator<E> prefix = new RecordSpliterator(this.index, mid);
+      this.index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.to - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+    }
+  }
+}
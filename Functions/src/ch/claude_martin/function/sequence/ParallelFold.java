@@ -0,0 +1,71 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/** Fork/join task that folds the elements of a spliterator. The spliterator is split until a part
+ * has no more than {@code threshold} elements. The prefix is always the left operand of the
+ * combiner, so the result is the same as that of a sequential fold if the operators are
+ * associative. */
+final class ParallelFold<E, B> extends RecursiveTask<B> {
+  private static final long serialVersionUID = -2904286931227547658L;
+
+  /** Default number of elements that are folded sequentially. */
+  static final int DEFAULT_THRESHOLD = 1 << 12;
+
+  private final Spliterator<E>              spliterator;
+  private final B                           identity;
+  private final BiFunction<B, ? super E, B> accumulator;
+  private final BinaryOperator<B>           combiner;
+  private final long                        threshold;
+
+  private ParallelFold(final Spliterator<E> spliterator, final B identity,
+      final BiFunction<B, ? super E, B> accumulator, final BinaryOperator<B> combiner,
+      final long threshold) {
+    this.spliterator = spliterator;
+    this.identity = identity;
+    this.accumulator = accumulator;
+    this.combiner = combiner;
+    this.threshold = threshold;
+  }
+
+  static <E, B> B fold(final Seq<E> seq, final B identity,
+      final BiFunction<B, ? super E, B> accumulator, final BinaryOperator<B> combiner,
+      final int threshold, final ForkJoinPool pool) {
+    requireNonNull(accumulator, "accumulator");
+    requireNonNull(combiner, "combiner");
+    requireNonNull(pool, "pool");
+    if (threshold <= 0)
+      throw new IllegalArgumentException("threshold must be positive");
+    return pool.invoke(new ParallelFold<>(seq.spliterator(), identity, accumulator, combiner,
+        threshold));
+  }
+
+  @Override
+  protected B compute() {
+    final Spliterator<E> prefix;
+    if (this.spliterator.estimateSize() <= this.threshold
+        || (prefix = this.spliterator.trySplit()) == null) {
+      final Object[] result = { this.identity };
+      this.spliterator.forEachRemaining(e -> {
+        @SuppressWarnings("unchecked")
+        final B b = (B) result[0];
+        result[0] = this.accumulator.apply(b, e);
+      });
+      @SuppressWarnings("unchecked")
+      final B b = (B) result[0];
+      return b;
+    }
+    final ParallelFold<E, B> left = new ParallelFold<>(prefix, this.identity, this.accumulator,
+        this.combiner, this.threshold);
+    left.fork();
+    final B right = new ParallelFold<>(this.spliterator, this.identity, this.accumulator,
+        this.combiner, this.threshold).compute();
+    return this.combiner.apply(left.join(), right);
+  }
+}
@@ -0,0 +1,70 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/** Generator of a lazy sequence that maps the elements of a source sequence on an executor. Up to
+ * {@code parallelism} elements are mapped at the same time. The results are returned in the order
+ * of the source, and each request for the next result starts the mapping of one more element. So
+ * the source can be infinite. */
+final class ParallelMap<E, R> implements Predicate<Consumer<R>> {
+  private final Function<? super E, ? extends R> mapper;
+  private final int                              parallelism;
+  private final Executor                         executor;
+  /** Results that are not yet returned, in order. */
+  private final ArrayDeque<CompletableFuture<R>> pending = new ArrayDeque<>();
+  /** The elements that are not yet mapped. */
+  private Seq<E>                                 rest;
+
+  private ParallelMap(final Seq<E> source, final Function<? super E, ? extends R> mapper,
+      final int parallelism, final Executor executor) {
+    this.rest = source;
+    this.mapper = mapper;
+    this.parallelism = parallelism;
+    this.executor = executor;
+  }
+
+  static <E, R> Seq<R> of(final Seq<E> source, final Function<? super E, ? extends R> mapper,
+      final int parallelism, final Executor executor) {
+    requireNonNull(source, "source");
+    requireNonNull(mapper, "mapper");
+    requireNonNull(executor, "executor");
+    if (parallelism <= 0)
+      throw new IllegalArgumentException("parallelism must be positive");
+    return Seq.generate(new ParallelMap<>(source, mapper, parallelism, executor));
+  }
+
+  @Override
+  public boolean test(final Consumer<R> consumer) {
+    while (this.pending.size() < this.parallelism && !this.rest.isEmpty()) {
+      final E e = this.rest.head();
+      this.rest = this.rest.tail();
+      this.pending.add(CompletableFuture.supplyAsync(() -> this.mapper.apply(e), this.executor));
+    }
+    final CompletableFuture<R> next = this.pending.peek();
+    if (next == null)
+      return false;
+    final R result;
+    try {
+      result = next.join();
+    } catch (final CompletionException ex) {
+      // The future stays in the queue, so the exception is thrown again on a retry.
+      final Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw ex;
+    }
+    this.pending.poll();
+    consumer.accept(result);
+    return true;
+  }
+}
@@ -0,0 +1,130 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/** Generator of a lazy sequence that takes the elements from a bounded buffer. A producer task
+ * reads the source sequence and puts its elements into the buffer, so it runs up to the size of the
+ * buffer ahead of the consumer. The producer waits while the buffer is full. It stops at the end of
+ * the source, after an exception, or when the lazy sequence was garbage collected.
+ *
+ * <p>
+ * The end of the source and any exception are passed through the buffer. The exception is thrown
+ * to the consumer, when it reaches the element that could not be generated. */
+final class Prefetch<E> implements Predicate<Consumer<E>> {
+  /** Daemon threads, so that a producer doesn't keep the JVM alive. */
+  static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+    final Thread thread = new Thread(r, "Seq prefetch");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static final Object NULL = new Object();
+  private static final Object END  = new Object();
+
+  /** An exception of the source. */
+  private static final class Failure {
+    final Throwable cause;
+
+    Failure(final Throwable cause) {
+      this.cause = cause;
+    }
+  }
+
+  private final BlockingQueue<Object> buffer;
+  /** Set when the end or an exception was taken from the buffer. */
+  private Object                      last = null;
+
+  private Prefetch(final int size) {
+    this.buffer = new ArrayBlockingQueue<>(size);
+  }
+
+  static <E> Seq<E> of(final Seq<E> source, final int size, final Executor executor) {
+    requireNonNull(source, "source");
+    requireNonNull(executor, "executor");
+    if (size <= 0)
+      throw new IllegalArgumentException("size must be positive");
+    final Prefetch<E> prefetch = new Prefetch<>(size);
+    executor.execute(new Producer(source, prefetch.buffer, new WeakReference<>(prefetch)));
+    return Seq.generate(prefetch);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean test(final Consumer<E> consumer) {
+    Object e = this.last;
+    if (e == null)
+      try {
+        e = this.buffer.take();
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(ex);
+      }
+    if (e == END || e instanceof Failure) {
+      this.last = e;
+      if (e == END)
+        return false;
+      final Throwable cause = ((Failure) e).cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new CompletionException(cause);
+    }
+    consumer.accept(e == NULL ? null : (E) e);
+    return true;
+  }
+
+  /** Reads the source into the buffer. It only refers to the rest of the source. */
+  private static final class Producer implements Runnable {
+    private Seq<?>                           rest;
+    private final BlockingQueue<Object>      buffer;
+    private final WeakReference<Prefetch<?>> owner;
+
+    Producer(final Seq<?> source, final BlockingQueue<Object> buffer,
+        final WeakReference<Prefetch<?>> owner) {
+      this.rest = source;
+      this.buffer = buffer;
+      this.owner = owner;
+    }
+
+    @Override
+    public void run() {
+      try {
+        Object e;
+        do {
+          try {
+            if (this.rest.isEmpty())
+              e = END;
+            else {
+              e = this.rest.head();
+              if (e == null)
+                e = NULL;
+              this.rest = this.rest.tail();
+            }
+          } catch (final Throwable t) {
+            e = new Failure(t);
+          }
+          // Wait while the buffer is full, unless nobody can read it anymore:
+          while (!this.buffer.offer(e, 100, TimeUnit.MILLISECONDS))
+            if (this.owner.get() == null)
+              return;
+        } while (e != END && !(e instanceof Failure));
+      } catch (final InterruptedException ex) {
+        this.buffer.offer(new Failure(ex));
+      } finally {
+        this.rest = null;
+      }
+    }
+  }
+}
@@ -2,15 +2,30 @@ package ch.claude_martin.function.sequence;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
-/* UNDER CONSTRUCTION! */
-final class RepeatingSeq<E> extends AbstractSeq<E> {
-  final long   offset;
-  final long   length;
-  final Seq<E> sequence;
+/** A finite sequence, the cycle, repeated from some offset for some length, which can be
+ * {@link Seq#INFINITY}. The cycle is copied to an array, so the element at any index is found by
+ * modular arithmetic, and indices past {@link Integer#MAX_VALUE} are supported by
+ * {@link #get(long)}, {@link #indexOfLong(Object)} and {@link #lastIndexOfLong(Object)}. All
+ * nodes share the same array. A repeated RepeatingSeq is not copied: an index is mapped to the
+ * inner sequence by another modulus, or directly to its cycle, if its length is a multiple of its
+ * period. */
+final class RepeatingSeq<E> extends AbstractSeq<E> implements RandomAccess {
+  /** Offset into the period, less than it. */
+  final long                    offset;
+  final long                    length;
+  /** Number of elements that are repeated: the length of the inner sequence or of the cycle. */
+  private final long            period;
+  /** The repeated sequence, or null if the cycle is repeated. */
+  private final RepeatingSeq<E> inner;
+  private final Object[]        cycle;
 
   RepeatingSeq(final Seq<E> sequence) {
     this(sequence, 0, INFINITY);
@@ -22,12 +37,54 @@ final class RepeatingSeq<E> extends AbstractSeq<E> {
       throw new IllegalArgumentException();
     if (length <= 0 || sequence.isEmpty())
       throw new IllegalArgumentException();
-    // TODO : If sequence is already RepeatingSeq then it's inner sequence could be used!
-    this.sequence = sequence;
+    if (sequence instanceof RepeatingSeq) {
+      // The inner sequence is finite, or it would not be repeated.
+      final RepeatingSeq<E> r = (RepeatingSeq<E>) sequence;
+      this.cycle = r.cycle;
+      if (r.length % r.period == 0) {
+        this.inner = r.inner;
+        this.period = r.period;
+        this.offset = shift(r.offset, offset, r.period);
+      } else {
+        this.inner = r;
+        this.period = r.length;
+        this.offset = offset;
+      }
+    } else {
+      this.cycle = sequence.toArray();
+      this.inner = null;
+      this.period = this.cycle.length;
+      this.offset = offset;
+    }
+    this.length = length;
+  }
+
+  private RepeatingSeq(final Object[] cycle, final RepeatingSeq<E> inner, final long period,
+      final long offset, final long length) {
+    this.cycle = cycle;
+    this.inner = inner;
+    this.period = period;
     this.offset = offset;
     this.length = length;
   }
 
+  /** (offset + index) modulo the period, without overflow. The offset is less than the period. */
+  private static long shift(final long offset, final long index, final long period) {
+    final long i = index % period;
+    return i < period - offset ? offset + i : i - (period - offset);
+  }
+
+  /** Element at the given index of this sequence, which is not checked. */
+  @SuppressWarnings("unchecked")
+  private E at(final long index) {
+    long i = index;
+    for (RepeatingSeq<E> r = this;; r = r.inner) {
+      i = shift(r.offset, i, r.period);
+      if (r.inner == null)
+        return (E) r.cycle[(int) i];
+    }
+  }
+
   @Override
   public boolean isEmpty() {
     return this.length == 0;
@@ -35,51 +92,63 @@ final class RepeatingSeq<E> extends AbstractSeq<E> {
 
   @Override
   public E get(final int index) {
-    if (index < 0 || index >= this.size())
+    return this.get((long) index);
+  }
+
+  /** Element at the given index. This takes constant time. */
+  public E get(final long index) {
+    if (index < 0 || index >= this.length)
       throw new IndexOutOfBoundsException();
-    return this.sequence.get((int) (this.offset + index) % this.sequence.size());
+    return this.at(index);
   }
 
+  /** The index, or -1. An index that is too large for an int is {@link Integer#MAX_VALUE}, just
+   * like the {@link #size()}. */
   @Override
   public int indexOf(final Object o) {
-    int i = this.sequence.drop(this.offset).indexOf(o);
-    if (i != -1 || this.offset == 0)
-      return i;
-    i = this.sequence.indexOf(o);
-    if (i == -1)
-      return i;
-    // TODO : What if it's after Integer.MAX_VALUE ?
-    i = (int) (this.sequence.size() - this.offset + i);
-    if (i >= this.length)
-      return -1;
-    return i;
+    return (int) Math.min(this.indexOfLong(o), Integer.MAX_VALUE);
+  }
+
+  /** Index of the first occurrence, or -1. Only one period is searched. */
+  public long indexOfLong(final Object o) {
+    final long n = Math.min(this.period, this.length);
+    for (long i = 0; i < n; i++)
+      if (Objects.equals(o, this.at(i)))
+        return i;
+    return -1;
   }
 
   @Override
   public int lastIndexOf(final Object o) {
-    if (!this.isFinite())
+    return (int) Math.min(this.lastIndexOfLong(o), Integer.MAX_VALUE);
+  }
+
+  /** Index of the last occurrence, or -1. Only the last period is searched. */
+  public long lastIndexOfLong(final Object o) {
+    if (this.length == INFINITY)
       throw new UnsupportedOperationException("no last index in infinite sequence");
-    // TODO what if length > Integer.MAX_VALUE ???
-    final int revIndex = this.reverse().indexOf(o);
-    if (revIndex == -1)
-      return -1;
-    final int index = this.size() - 1 - revIndex;
-    return index < 0 ? -1 : index;
+    final long n = Math.min(this.period, this.length);
+    for (long i = this.length - 1; i >= this.length - n; i--)
+      if (Objects.equals(o, this.at(i)))
+        return i;
+    return -1;
   }
 
   @Override
   public E head() {
-    return this.sequence.drop(this.offset).head();
+    return this.at(0);
   }
 
   @Override
   public Seq<E> tail() {
-    long newOffset = this.offset + 1;
-    if (newOffset == this.sequence.size())
-      newOffset = 0;
-    if (this.length == 1)
-      return Seq.empty();
-    return new RepeatingSeq<>(this.sequence, newOffset, this.length - 1);
+    return this.drop(1);
+  }
+
+  @Override
+  public E last() {
+    if (this.length == INFINITY)
+      throw new NoSuchElementException("no last element in infinite sequence");
+    return this.at(this.length - 1);
   }
 
   @Override
@@ -88,35 +157,37 @@ final class RepeatingSeq<E> extends AbstractSeq<E> {
   }
 
   @Override
-  public Seq<E> sorted(final Comparator<? super E> comparator) {
-    throw new OutOfMemoryError();
+  long knownLength() {
+    return this.length;
   }
 
   @Override
   public boolean contains(final Object o) {
-    if (this.length >= this.sequence.length())
-      return this.sequence.contains(o);
-    return super.contains(o);
+    return this.indexOfLong(o) != -1;
   }
 
   @Override
   public Iterator<E> iterator() {
+    if (this.inner != null)
+      return Spliterators.iterator(this.spliterator());
     return new Iterator<E>() {
-      Seq<E> next = RepeatingSeq.this.sequence.drop(RepeatingSeq.this.offset);
-      int    pos  = 0;
+      private int  next = (int) RepeatingSeq.this.offset;
+      private long pos  = 0;
+
       @Override
       public boolean hasNext() {
         return this.pos < RepeatingSeq.this.length;
       }
 
+      @SuppressWarnings("unchecked")
       @Override
       public E next() {
         if (!this.hasNext())
           throw new NoSuchElementException();
-        final E result = this.next.head();
-        this.next = this.next.tail();
-        if (this.next.isEmpty())
-          this.next = RepeatingSeq.this.sequence;
+        final Object[] cycle = RepeatingSeq.this.cycle;
+        final E result = (E) cycle[this.next];
+        if (++this.next == cycle.length)
+          this.next = 0;
         this.pos++;
         return result;
       }
@@ -124,31 +195,100 @@ final class RepeatingSeq<E> extends AbstractSeq<E> {
   }
 
   @Override
-  public Seq<E> reverse() {
-    final long seqLen = this.sequence.length();
-    // final int newOffset = (int) ((this.length - (seqLen - this.offset)) % seqLen);
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    this.iterator().forEachRemaining(action);
+  }
 
-    final long a = seqLen - this.offset;
-    final long b = this.length - a;
-    final long c = b % seqLen;
-    final int d = (int) (seqLen - c);
-    return new RepeatingSeq<>(this.sequence.reverse(), d, this.length);
+  @Override
+  public Spliterator<E> spliterator() {
+    return new IndexSpliterator(0, this.length);
+  }
+
+  /** The reversed cycle. An infinite sequence is reversed as if it ended at index
+   * {@link Seq#INFINITY}, so the result is also infinite. */
+  @Override
+  public Seq<E> reverse() {
+    // The last element becomes the first:
+    final long last = shift(this.offset, this.length - 1, this.period);
+    if (this.inner != null) {
+      final RepeatingSeq<E> reversed = (RepeatingSeq<E>) this.inner.reverse();
+      return new RepeatingSeq<>(reversed.cycle, reversed, this.period, this.period - 1 - last,
+          this.length);
+    }
+    final int n = this.cycle.length;
+    final Object[] reversed = new Object[n];
+    for (int i = 0; i < n; i++)
+      reversed[i] = this.cycle[n - 1 - i];
+    return new RepeatingSeq<>(reversed, null, n, n - 1 - last, this.length);
   }
 
   @Override
   public Seq<E> take(final long n) {
-    return new RepeatingSeq<>(this.sequence, this.offset, n);
+    if (n <= 0)
+      return Seq.empty();
+    if (n >= this.length)
+      return this;
+    return new RepeatingSeq<>(this.cycle, this.inner, this.period, this.offset, n);
   }
 
   @Override
   public Seq<E> drop(final long n) {
-    final long newLength = this.length - n;
-    if (newLength == 0)
+    if (n <= 0)
+      return this;
+    if (n >= this.length && this.length != INFINITY)
       return Seq.empty();
-    if (newLength < 0)
-      throw new IllegalArgumentException();
-    final long newOffset = (this.offset + n) % this.sequence.size();
-    return new RepeatingSeq<>(this.sequence, newOffset, newLength);
+    return new RepeatingSeq<>(this.cycle, this.inner, this.period,
+        shift(this.offset, n, this.period), this.length == INFINITY ? INFINITY : this.length - n);
   }
 
+  /** Splits the range of indices in halves. An infinite sequence is split like a range that ends
+   * at {@link Seq#INFINITY}, but the spliterator is not sized. */
+  private final class IndexSpliterator implements Spliterator<E> {
+    private long       index;
+    private final long to;
+
+    IndexSpliterator(final long from, final long to) {
+      this.index = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.to)
+        return false;
+      action.accept(RepeatingSeq.this.at(this.index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      while (this.index < this.to)
+        action.accept(RepeatingSeq.this.at(this.index++));
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      final long mid = (this.index + this.to) >>> 1;
+      if (mid <= this.index)
+        return null;
+      final Spliterator<E> prefix = new IndexSpliterator(this.index, mid);
+      this.index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.to - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      if (RepeatingSeq.this.length == INFINITY)
+        return ORDERED | IMMUTABLE;
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+    }
+  }
 }
@@ -4,13 +4,17 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.*;
 import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 import java.util.stream.Collector;
 
+import ch.claude_martin.function.QuadFn;
+import ch.claude_martin.function.TriFn;
 import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Quad;
+import ch.claude_martin.function.tuple.Triplet;
 
 public interface Seq<E> extends List<E> {
 
@@ -18,33 +22,26 @@ public interface Seq<E> extends List<E> {
   public static final LinkedSeq<?> EMPTY    = new LinkedSeq<>();
   public static final long         INFINITY = Long.MAX_VALUE;
 
+  /** Builder of a sequence backed by an array. See {@link #toSeq()} for a collector. */
+  public static <E> ArraySeq.Builder<E> builder() {
+    return ArraySeq.builder();
+  }
+
   @SuppressWarnings("unchecked")
   public static <E> LinkedSeq<E> empty() {
     return (LinkedSeq<E>) EMPTY;
   }
 
-  public static Seq<Integer> ofInts(final int... elements) {
-    requireNonNull(elements, "elements");
-    final Integer[] ints = new Integer[elements.length];
-    for (int x = 0; x < elements.length; x++)
-      ints[x] = elements[x];
-    return new ArraySeq<>(ints, 0);
+  public static IntSeq ofInts(final int... elements) {
+    return IntSeq.of(elements);
   }
 
-  public static Seq<Long> ofLongs(final long... elements) {
-    requireNonNull(elements, "elements");
-    final Long[] longs = new Long[elements.length];
-    for (int x = 0; x < elements.length; x++)
-      longs[x] = elements[x];
-    return new ArraySeq<>(longs, 0);
+  public static LongSeq ofLongs(final long... elements) {
+    return LongSeq.of(elements);
   }
 
-  public static Seq<Double> ofDoubles(final double... elements) {
-    requireNonNull(elements, "elements");
-    final Double[] doubles = new Double[elements.length];
-    for (int x = 0; x < elements.length; x++)
-      doubles[x] = elements[x];
-    return new ArraySeq<>(doubles, 0);
+  public static DoubleSeq ofDoubles(final double... elements) {
+    return DoubleSeq.of(elements);
   }
 
   /** Creates a clone of the given elements. */
@@ -64,16 +61,17 @@ public interface Seq<E> extends List<E> {
     if (elements instanceof Seq)
       return (Seq<E>) elements;
     // collection could be mutable, so a copy must be created.
+    if (elements instanceof RandomAccess) {
+      @SuppressWarnings("unchecked")
+      final E[] array = (E[]) elements.toArray();
+      return new ArraySeq<>(array, 0);
+    }
     final java.util.List<E> list;
     if (elements instanceof java.util.List)
       list = (java.util.List<E>) elements;
     else
       list = new ArrayList<>(elements);
-    final ListIterator<E> itr = list.listIterator(list.size());
-    LinkedSeq<E> result = Seq.empty();
-    while (itr.hasPrevious())
-      result = new LinkedSeq<>(itr.previous(), result);
-    return result;
+    return UnrolledSeq.of(list);
   }
 
   @SuppressWarnings("unchecked")
@@ -83,6 +81,14 @@ public interface Seq<E> extends List<E> {
     return ((Seq<T>) s1).append(s2);
   }
 
+  /** Concatenation of all given sequences. The sequences are not copied, but the concatenation is
+   * balanced, so that random access and iteration stay efficient. */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <E> Seq<E> concatAll(final Seq<? extends E>... sequences) {
+    return ConcatSeq.of(sequences);
+  }
+
   public static <E> Seq<E> generate(final Callable<E> callable) {
     return new LazySeq<>(callable);
   }
@@ -91,6 +97,35 @@ public interface Seq<E> extends List<E> {
     return new LazySeq<>(generator);
   }
 
+  /** Like {@link #generate(Callable)}, but the elements are not kept. The cursor uses constant
+   * memory, no matter how many elements are generated. */
+  public static <E> Cursor<E> generateOnce(final Callable<E> callable) {
+    return Cursor.of(callable);
+  }
+
+  /** Like {@link #generate(Predicate)}, but the elements are not kept. The cursor uses constant
+   * memory, no matter how many elements are generated. */
+  public static <E> Cursor<E> generateOnce(final Predicate<Consumer<E>> generator) {
+    return new Cursor<>(generator);
+  }
+
+  /** Lazy sequence that is generated in the background, up to {@code n} elements ahead of the
+   * consumer. Exceptions of the generator are thrown to the consumer.
+   *
+   * @see #prefetch(int, Executor) */
+  public static <E> Seq<E> generateAsync(final Predicate<Consumer<E>> generator, final int n,
+      final Executor executor) {
+    return Prefetch.of(generate(generator), n, executor);
+  }
+
+  /** Lazy sequence that is generated in chunks, which is faster than generating one element at a
+   * time. Each call of the generator writes up to {@code chunkSize} elements to the given consumer.
+   * The sequence ends when the generator writes no element. */
+  public static <E> Seq<E> generate(final int chunkSize,
+      final ObjIntConsumer<Consumer<E>> generator) {
+    return new ChunkedSeq<>(generator, chunkSize);
+  }
+
   public static <E> Seq<E> iterate(final E seed, final UnaryOperator<E> f) {
     final AtomicReference<E> i = new AtomicReference<>(seed);
     return generate(() -> {
@@ -98,61 +133,121 @@ public interface Seq<E> extends List<E> {
     });
   }
 
-  public static Seq<Integer> iterate(final int seed, final IntUnaryOperator f) {
-    final AtomicInteger i = new AtomicInteger(seed);
-    return generate(() -> {
-      return i.getAndUpdate(f);
-    });
+  public static IntSeq iterate(final int seed, final IntUnaryOperator f) {
+    return IntSeq.iterate(seed, f);
   }
 
-  public static Seq<Long> iterate(final long seed, final LongUnaryOperator f) {
-    final AtomicLong i = new AtomicLong(seed);
-    return generate(() -> {
-      return i.getAndUpdate(f);
-    });
+  public static LongSeq iterate(final long seed, final LongUnaryOperator f) {
+    return LongSeq.iterate(seed, f);
   }
 
-  public static Seq<Integer> range(final int start, final int end) {
-    if (end < start)
+  /** Range from start (inclusive) to end (exclusive). */
+  public static IntSeq range(final int start, final int end) {
+    return IntRangeSeq.of(start, end, 1);
+  }
+
+  /** Range from start (inclusive) to end (exclusive) with the given step, which can be negative. */
+  public static IntSeq range(final int start, final int end, final int step) {
+    return IntRangeSeq.of(start, end, step);
+  }
+
+  public static IntSeq rangeClosed(final int first, final int last) {
+    if (last < first - 1L)
       throw new IllegalArgumentException();
-    return iterate(start, (IntUnaryOperator) i -> {
-      if (i == end)
-        throw new RuntimeException();
-      return 1 + i;
-    });
+    if (last < first)
+      return IntSeq.empty();
+    return new IntRangeSeq(first, 1, (long) last - first + 1);
+  }
+
+  /** Range from start (inclusive) to end (exclusive). */
+  public static LongSeq range(final long start, final long end) {
+    return LongRangeSeq.of(start, end, 1);
   }
 
-  public static Seq<Integer> rangeClosed(final int first, final int last) {
+  /** Range from start (inclusive) to end (exclusive) with the given step, which can be negative. */
+  public static LongSeq range(final long start, final long end, final long step) {
+    return LongRangeSeq.of(start, end, step);
+  }
+
+  public static LongSeq rangeClosed(final long first, final long last) {
+    if (last == Long.MAX_VALUE)
+      throw new IllegalArgumentException("too many elements");
     return range(first, last + 1);
   }
 
-  public static Seq<Long> range(final long start, final long end) {
-    return iterate(start, (LongUnaryOperator) i -> {
-      if (i == end)
-        throw new RuntimeException();
-      return 1 + i;
+  public static <E> Seq<E> seq(final E head, final Seq<? extends E> tail) {
+    return UnrolledSeq.cons(head, tail);
+  }
+
+  /** Lazy sequence of the remaining elements of the iterator. Each element is read once, when it is
+   * needed. */
+  public static <E> Seq<E> ofIterator(final Iterator<? extends E> iterator) {
+    requireNonNull(iterator, "iterator");
+    return generate(c -> {
+      if (!iterator.hasNext())
+        return false;
+      c.accept(iterator.next());
+      return true;
     });
   }
 
-  public static Seq<Long> rangeClosed(final long first, final long last) {
-    return range(first, last + 1);
+  /** Lazy zip of two sequences, which ends with the shorter one. The sequences can be infinite. If
+   * both are random access, the result can be split by index for parallel streams. */
+  @SuppressWarnings("unchecked")
+  public static <A, B, R> Seq<R> zip(final Seq<A> a, final Seq<B> b,
+      final BiFunction<? super A, ? super B, ? extends R> zipper) {
+    requireNonNull(zipper, "zipper");
+    return ZipSeq.of(e -> zipper.apply((A) e[0], (B) e[1]), a, b);
+  }
+
+  public static <A, B> Seq<Pair<A, B>> zip(final Seq<A> a, final Seq<B> b) {
+    return zip(a, b, Pair::<A, B> of);
   }
 
+  /** Lazy zip of three sequences. See {@link #zip(Seq, Seq, BiFunction)}. */
   @SuppressWarnings("unchecked")
-  public static <E> Seq<E> seq(final E head, final Seq<? extends E> tail) {
-    return new LinkedSeq<>(head, (Seq<E>) tail);
+  public static <A, B, C, R> Seq<R> zip(final Seq<A> a, final Seq<B> b, final Seq<C> c,
+      final TriFn<? super A, ? super B, ? super C, ? extends R> zipper) {
+    requireNonNull(zipper, "zipper");
+    return ZipSeq.of(e -> zipper.apply3((A) e[0], (B) e[1], (C) e[2]), a, b, c);
+  }
+
+  public static <A, B, C> Seq<Triplet<A, B, C>> zip(final Seq<A> a, final Seq<B> b,
+      final Seq<C> c) {
+    return zip(a, b, c, Triplet::<A, B, C> of);
   }
 
-  /** Collect elements of a finite stream to a sequence. The collector will create a linked sequence
-   * of all elements. */
+  /** Lazy zip of four sequences. See {@link #zip(Seq, Seq, BiFunction)}. */
+  @SuppressWarnings("unchecked")
+  public static <A, B, C, D, R> Seq<R> zip(final Seq<A> a, final Seq<B> b, final Seq<C> c,
+      final Seq<D> d,
+      final QuadFn<? super A, ? super B, ? super C, ? super D, ? extends R> zipper) {
+    requireNonNull(zipper, "zipper");
+    return ZipSeq.of(e -> zipper.apply4((A) e[0], (B) e[1], (C) e[2], (D) e[3]), a, b, c, d);
+  }
+
+  public static <A, B, C, D> Seq<Quad<A, B, C, D>> zip(final Seq<A> a, final Seq<B> b,
+      final Seq<C> c, final Seq<D> d) {
+    return zip(a, b, c, d, Quad::<A, B, C, D> of);
+  }
+
+  /** Collect elements of a finite stream to a sequence. A sequential stream is collected to an
+   * {@link ArraySeq}. The arrays of a parallel stream are concatenated, but not copied. Use
+   * {@link #toVectorSeq()} for a vector. */
   public static <T> Collector<T, ?, Seq<T>> toSeq() {
-    final Supplier<List<T>> supplier = ArrayList::new;
-    final BiConsumer<List<T>, T> accumulator = (l, t) -> l.add(t);
-    final BinaryOperator<List<T>> combiner = (a, b) -> {
-      a.addAll(b);
-      return a;
-    };
-    final Function<List<T>, Seq<T>> finisher = Seq::ofCollection;
+    final Supplier<ArraySeq.Builder<T>> supplier = ArraySeq::builder;
+    final BiConsumer<ArraySeq.Builder<T>, T> accumulator = ArraySeq.Builder::add;
+    final BinaryOperator<ArraySeq.Builder<T>> combiner = ArraySeq.Builder::combine;
+    final Function<ArraySeq.Builder<T>, Seq<T>> finisher = ArraySeq.Builder::build;
+    return Collector.of(supplier, accumulator, combiner, finisher);
+  }
+
+  /** Collect elements of a finite stream to a {@link VectorSeq}, which has fast random access. */
+  public static <T> Collector<T, ?, VectorSeq<T>> toVectorSeq() {
+    final Supplier<VectorSeq.Builder<T>> supplier = VectorSeq::builder;
+    final BiConsumer<VectorSeq.Builder<T>, T> accumulator = VectorSeq.Builder::add;
+    final BinaryOperator<VectorSeq.Builder<T>> combiner = (a, b) -> a.addAll(b.build());
+    final Function<VectorSeq.Builder<T>, VectorSeq<T>> finisher = VectorSeq.Builder::build;
     return Collector.of(supplier, accumulator, combiner, finisher);
   }
 
@@ -197,9 +292,59 @@ public interface Seq<E> extends List<E> {
 
   public default <B> B foldRight(final BiFunction<? super E, ? super B, B> accumulator,
       final B identity) {
-    if (this.isEmpty())
-      return identity;
-    return accumulator.apply(this.head(), this.tail().foldRight(accumulator, identity));
+    // The elements are buffered, so they can be folded from right to left without recursion.
+    final ArrayList<E> buffer = new ArrayList<>();
+    this.forEach(buffer::add);
+    B result = identity;
+    for (int i = buffer.size() - 1; i >= 0; i--)
+      result = accumulator.apply(buffer.get(i), result);
+    return result;
+  }
+
+  /** Folds the elements in parallel, in the common pool. The accumulator and the combiner must be
+   * associative and the identity must be an identity for the combiner. The elements are folded in
+   * order, so the operators don't need to be commutative.
+   *
+   * @see #parallelFold(Object, BiFunction, BinaryOperator, int, ForkJoinPool) */
+  public default <B> B parallelFold(final B identity,
+      final BiFunction<B, ? super E, B> accumulator, final BinaryOperator<B> combiner) {
+    return this.parallelFold(identity, accumulator, combiner, ParallelFold.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /** Folds the elements in parallel, in the given pool. The sequence is split into parts with no
+   * more than {@code threshold} elements, which are folded with the accumulator, starting with the
+   * identity. The results are combined in order. */
+  public default <B> B parallelFold(final B identity,
+      final BiFunction<B, ? super E, B> accumulator, final BinaryOperator<B> combiner,
+      final int threshold, final ForkJoinPool pool) {
+    return ParallelFold.fold(this, identity, accumulator, combiner, threshold, pool);
+  }
+
+  /** Reduces the elements in parallel, in the common pool. The operator must be associative.
+   *
+   * @throws NoSuchElementException
+   *           if the sequence is empty. */
+  public default E parallelReduce(final BinaryOperator<E> operator) {
+    return this.parallelReduce(operator, ParallelFold.DEFAULT_THRESHOLD,
+        ForkJoinPool.commonPool());
+  }
+
+  /** Reduces the elements in parallel, in the given pool. The operator must be associative.
+   *
+   * @throws NoSuchElementException
+   *           if the sequence is empty. */
+  @SuppressWarnings("unchecked")
+  public default E parallelReduce(final BinaryOperator<E> operator, final int threshold,
+      final ForkJoinPool pool) {
+    requireNonNull(operator, "operator");
+    // NOTHING is the identity:
+    final BinaryOperator<Object> op = (a, b) -> a == NOTHING ? b : b == NOTHING ? a
+        : operator.apply((E) a, (E) b);
+    final Object result = this.parallelFold(NOTHING, op, op, threshold, pool);
+    if (result == NOTHING)
+      throw new NoSuchElementException();
+    return (E) result;
   }
 
   /** Append one or more elements. Creates a new list containing all elements of this and the given
@@ -214,166 +359,244 @@ public interface Seq<E> extends List<E> {
   public default Seq<E> append(final Seq<? extends E> list) {
     requireNonNull(list, "list");
 
-    if (list.isEmpty() || !this.isFinite())
+    if (list.isEmpty() || AbstractSeq.knownLength(this) == INFINITY)
       return this;
 
     // final Seq<E> result = (Seq<E>) list;
     if (this.isEmpty())
       return (Seq<E>) list;
 
-    if (this.length() == 1)
+    if (this.tail().isEmpty())
       return new LinkedSeq<>(this.head(), (Seq<E>) list);
-    final AtomicReference<Pair<Seq<E>, Boolean>> ref = new AtomicReference<>(Pair.of(this, true));
-
-    return new LazySeq<>(() -> {
-      return ref.getAndUpdate(p -> {
-        final Seq<E> tail = p._1().tail();
-        final Boolean isFirst = p._2();
-        if (tail.isEmpty()) {
-          if (isFirst)
-            return Pair.of((Seq<E>) list, false);
-          return Pair.of(tail, false);
-        }
-        return Pair.of(tail, isFirst);
-      })._1().head();
-    });
+    return ConcatSeq.of(this, list);
   }
 
   @Override
   public default E get(final int index) {
-    if (index < 0 || this.isEmpty())
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    Seq<E> s = this;
+    for (int i = index; i > 0; i--) {
+      if (s.isEmpty())
+        throw new IndexOutOfBoundsException();
+      s = s.tail();
+    }
+    if (s.isEmpty())
       throw new IndexOutOfBoundsException();
-    if (index == 0)
-      return this.head();
-    return this.tail().get(index - 1);
+    return s.head();
   }
 
   public default Seq<E> take(final long n) {
-    if (this.isEmpty() || n <= 0)
+    if (n <= 0)
       return Seq.empty();
     if (n == INFINITY)
       return this;
-    if (this instanceof LinkedSeq || this instanceof ArraySeq)
-      // These are finite and non-lazy
-      if (n >= this.length())
-        return this;
+    final long length = AbstractSeq.knownLength(this);
+    if (length >= 0 && n >= length)
+      return this;
 
-    final AtomicReference<Pair<Long, Seq<E>>> i = new AtomicReference<>(Pair.of(0L, Seq.this));
-    return generate(() -> {
-      final Pair<Long, Seq<E>> p = i.getAndUpdate(o -> Pair.of(o._1() + 1L, o._2().tail()));
-      if (p._1() == n)
-        throw new NoSuchElementException();
-      return p._2().head();
-    });
+    return LazyOperator.take(this, n);
   }
 
   public default Seq<E> drop(final long n) {
-    if (n > this.length())
-      return Seq.empty();
-    if (n <= 0)
-      return this;
-    if (n == 1)
-      return this.tail();
-    return this.tail().drop(n - 1);
+    Seq<E> s = this;
+    for (long i = n; i > 0; i--) {
+      if (s.isEmpty())
+        return Seq.empty();
+      s = s.tail();
+    }
+    return s;
   }
 
   public default Seq<E> repeat() {
-    if (this.isEmpty() || !this.isFinite())
+    if (this.isEmpty())
       return this;
-    return new RepeatingSeq<>(this);
+    final long length = AbstractSeq.knownLength(this);
+    if (length == INFINITY)
+      return this;
+    if (length >= 0)
+      return new RepeatingSeq<>(this);
+    // The length is not known and might be infinite:
+    return Seq.generate(new Predicate<Consumer<E>>() {
+      private Seq<E> rest = Seq.this;
+
+      @Override
+      public boolean test(final Consumer<E> consumer) {
+        if (this.rest.isEmpty())
+          this.rest = Seq.this;
+        consumer.accept(this.rest.head());
+        this.rest = this.rest.tail();
+        return true;
+      }
+    });
   }
 
   public default Seq<E> repeat(final int offset, final long length) {
     if (length == 0 || this.isEmpty())
       return Seq.empty();
-    if (!this.isFinite())
+    if (AbstractSeq.knownLength(this) == INFINITY)
       return this.drop(offset).take(length);
     return new RepeatingSeq<>(this, offset, length);
   }
 
   public default Seq<E> filter(final Predicate<? super E> predicate) {
-    requireNonNull(predicate, "predicate");
-    if (this.isEmpty())
-      return Seq.empty();
-    final AtomicReference<Seq<E>> i = new AtomicReference<>(Seq.seq(null, Seq.this));
-    return generate(() -> {
-      return i.updateAndGet(s -> {
-        do
-          s = s.tail();
-        while (!predicate.test(s.head()));
-        return s;
-      }).head();
-    });
+    return LazyOperator.filter(this, predicate);
   }
 
   /** The partition function takes a predicate a list and returns the pair of lists of elements which
-   * do and do not satisfy the predicate, respectively; */
+   * do and do not satisfy the predicate, respectively. Both keep the order of this sequence. */
   public default Pair<Seq<E>, Seq<E>> partition(final Predicate<? super E> predicate) {
-    Seq<E> a = Seq.empty(), b = Seq.empty();
+    requireNonNull(predicate, "predicate");
+    final ArrayList<E> a = new ArrayList<>(), b = new ArrayList<>();
     for (final E e : this)
       if (predicate.test(e))
-        a = new LinkedSeq<>(e, a);
+        a.add(e);
       else
-        b = new LinkedSeq<>(e, b);
-    return Pair.of(a, b);
+        b.add(e);
+    return Pair.of(UnrolledSeq.of(a), UnrolledSeq.of(b));
   }
 
   /** Removes duplicate elements from a sequence. */
   public default Seq<E> distinct() {
-    if (isEmpty())
-      return empty();
-    final Set<E> set = new HashSet<>();
-    final AtomicReference<Seq<E>> ref = new AtomicReference<>(//
-        Seq.seq(null, Seq.this));
-    return generate(() -> {
-      return ref.updateAndGet(s -> {
-        do
-          s = s.tail();
-        while (!set.contains(s.head()));
-        return s;
-      }).head();
-    });
+    return LazyOperator.distinct(this);
+  }
+
+  /** Lazy sequence of the longest prefix of elements that match the predicate. */
+  public default Seq<E> takeWhile(final Predicate<? super E> predicate) {
+    return LazyOperator.takeWhile(this, predicate);
+  }
+
+  /** Lazy sequence without the longest prefix of elements that match the predicate. */
+  public default Seq<E> dropWhile(final Predicate<? super E> predicate) {
+    return LazyOperator.dropWhile(this, predicate);
+  }
+
+  /** Lazy sequence of the identity and all intermediate results of
+   * {@link #foldLeft(BiFunction, Object) foldLeft}. Each aggregate is computed once, from the
+   * previous one, so this also works on infinite sequences.
+   *
+   * <p>
+   * Example: {@code Seq.of(1, 2, 3).scanLeft((a, b) -> a + b, 0)} is {@code [0, 1, 3, 6]}. */
+  public default <B> Seq<B> scanLeft(final BiFunction<? super B, ? super E, B> accumulator,
+      final B identity) {
+    return Seq.seq(identity, LazyOperator.scan(this, accumulator, identity));
+  }
+
+  /** Lazy concatenation of the sequences that the mapper returns for the elements. */
+  public default <R> Seq<R> flatMap(final Function<? super E, ? extends Seq<? extends R>> mapper) {
+    return LazyOperator.flatMap(this, mapper);
+  }
+
+  /** Same as {@link #mapParallel(Function, int, Executor)}, in the common fork/join pool. */
+  public default <R> Seq<R> mapParallel(final Function<? super E, ? extends R> mapper,
+      final int parallelism) {
+    return this.mapParallel(mapper, parallelism, ForkJoinPool.commonPool());
+  }
+
+  /** Lazy sequence of the mapped elements, which are mapped on the executor, up to
+   * {@code parallelism} at the same time. The results are in the order of this sequence. Only a
+   * few elements are mapped ahead of the consumer, so this sequence can be infinite. An exception
+   * of the mapper is thrown to the consumer. */
+  public default <R> Seq<R> mapParallel(final Function<? super E, ? extends R> mapper,
+      final int parallelism, final Executor executor) {
+    return ParallelMap.of(this, mapper, parallelism, executor);
+  }
+
+  /** Same as {@link #prefetch(int, Executor)}, on a shared pool of daemon threads. */
+  public default Seq<E> prefetch(final int n) {
+    return this.prefetch(n, Prefetch.EXECUTOR);
+  }
+
+  /** Lazy sequence of the same elements, which a task on the executor reads up to {@code n}
+   * elements ahead, into a bounded buffer. The task waits while the buffer is full, and it stops
+   * when the returned sequence is garbage collected. The elements are memoized, as in any lazy
+   * sequence. The end and any exception are passed on to the consumer. */
+  public default Seq<E> prefetch(final int n, final Executor executor) {
+    return Prefetch.of(this, n, executor);
+  }
+
+  /** One pass over the elements of this sequence. The cursor does not keep the elements it has
+   * returned. But the nodes of a lazy sequence are kept as long as something refers to this
+   * sequence. Use {@link #generateOnce(Predicate)} to read a generator without creating nodes. */
+  public default Cursor<E> cursor() {
+    return Cursor.of(this);
+  }
+
+  /** Windows of {@code size} elements, starting at every {@code step}-th element. The windows end
+   * with the first one that reaches the end of this sequence, so the last window can be shorter,
+   * but only if no other window contains its elements. The windows are views, created by
+   * {@link #take(long)} and {@link #drop(long)}. */
+  public default Seq<Seq<E>> sliding(final int size, final int step) {
+    return Windows.sliding(this, size, step);
+  }
+
+  /** Consecutive groups of n elements. The last group can be shorter. Same as
+   * {@code sliding(n, n)}. */
+  public default Seq<Seq<E>> grouped(final int n) {
+    return Windows.sliding(this, n, n);
+  }
+
+  /** Splits this finite sequence into n chunks, whose lengths differ by at most one. There are
+   * fewer chunks if this sequence has fewer than n elements. */
+  public default Seq<Seq<E>> chunked(final int n) {
+    return Windows.chunked(this, n);
+  }
+
+  /** View of this finite sequence with a hash index of its elements, which is built on the first
+   * lookup. contains, indexOf, lastIndexOf and distinct then take constant time on average.
+   *
+   * @throws IllegalArgumentException
+   *           if this sequence is known to be infinite. */
+  public default Seq<E> indexed() {
+    return IndexedSeq.of(this);
   }
 
   public default boolean all(final Predicate<E> predicate) {
     requireNonNull(predicate, "predicate");
-    if (this.isEmpty())
-      return true;
-    return predicate.test(this.head()) && this.tail().all(predicate);
+    for (Seq<E> s = this; !s.isEmpty(); s = s.tail())
+      if (!predicate.test(s.head()))
+        return false;
+    return true;
   }
 
   public default boolean any(final Predicate<E> predicate) {
     requireNonNull(predicate, "predicate");
-    if (this.isEmpty())
-      return false;
-    return predicate.test(this.head()) || this.tail().any(predicate);
+    for (Seq<E> s = this; !s.isEmpty(); s = s.tail())
+      if (predicate.test(s.head()))
+        return true;
+    return false;
   }
 
   public default <T> Seq<T> map(final Function<? super E, ? extends T> mapper) {
-    requireNonNull(mapper, "mapper");
-    if (this.isEmpty())
-      return Seq.empty();
-    final AtomicReference<Seq<E>> i = new AtomicReference<>(Seq.this);
-    return generate(() -> mapper.apply(i.getAndUpdate(s -> s.tail()).head()));
+    return LazyOperator.map(this, mapper);
   }
 
+  /** Sorts the elements by natural order. Large sequences are sorted in parallel.
+   *
+   * @see #sorted(Comparator) */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
   public default Seq<E> sorted() {
-    return this.stream().sorted().collect(Seq.toSeq());
+    return this.sorted((Comparator) Comparator.naturalOrder());
   }
 
+  /** Sorts the elements by the given comparator. Large sequences are sorted in parallel. The result
+   * is an {@link ArraySeq} that knows that it is sorted, unless it is empty. */
   public default Seq<E> sorted(final Comparator<? super E> comparator) {
-    return this.stream().sorted(comparator).collect(Seq.toSeq());
+    return ArraySeq.sort(this.toArray(), comparator);
   }
 
   @Override
   public default Object[] toArray() {
-    try {
-      if (!this.isFinite() || this.length() > Integer.MAX_VALUE - 8)
-        throw new OutOfMemoryError();
-    } catch (final StackOverflowError e) {
+    final long length = AbstractSeq.knownLength(this);
+    if (length > Integer.MAX_VALUE - 8)
       throw new OutOfMemoryError();
+    if (length < 0) {
+      // ArrayList throws OutOfMemoryError if there are too many elements.
+      final ArrayList<E> list = new ArrayList<>();
+      this.forEach(list::add);
+      return list.toArray();
     }
-    final Object[] result = new Object[this.size()];
+    final Object[] result = new Object[(int) length];
     int i = 0;
     for (Seq<E> e = this; !e.isEmpty(); e = e.tail())
       result[i++] = e.head();
@@ -401,9 +624,10 @@ public interface Seq<E> extends List<E> {
 
   @Override
   public default boolean contains(final Object o) {
-    if (this.isEmpty())
-      return false;
-    return Objects.equals(this.head(), o) || this.tail().contains(o);
+    for (Seq<E> s = this; !s.isEmpty(); s = s.tail())
+      if (Objects.equals(s.head(), o))
+        return true;
+    return false;
   }
 
   @Override
@@ -0,0 +1,91 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/** Spliterator for sequences without random access. It is SIZED and SUBSIZED if the length is known
+ * and finite. Splitting copies a prefix to an array. The size of the prefix doubles with each
+ * split, up to {@link #MAX_BATCH}, so a long sequence is split into a few large batches. Only the
+ * elements of the prefix are forced, so this works on infinite sequences. */
+final class SeqSpliterator<E> implements Spliterator<E> {
+  static final int BATCH_UNIT = 1 << 10;
+  static final int MAX_BATCH  = 1 << 25;
+
+  private Seq<E> seq;
+  /** -1 if unknown. */
+  private long   size;
+  private int    batch = 0;
+
+  /** @param size
+   *          length of the sequence, or -1 if unknown. */
+  SeqSpliterator(final Seq<E> seq, final long size) {
+    this.seq = seq;
+    this.size = size == Seq.INFINITY ? -1 : size;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    if (this.size == 0 || this.seq.isEmpty())
+      return false;
+    action.accept(this.seq.head());
+    this.seq = this.seq.tail();
+    if (this.size > 0)
+      this.size--;
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    Seq<E> s = this.seq;
+    for (long n = this.size; n != 0 && !s.isEmpty(); n--) {
+      action.accept(s.head());
+      s = s.tail();
+    }
+    this.seq = Seq.empty();
+    this.size = 0;
+  }
+
+  @Override
+  public Spliterator<E> trySplit() {
+    long n = this.batch == 0 ? BATCH_UNIT : 2L * this.batch;
+    if (n > MAX_BATCH)
+      n = MAX_BATCH;
+    if (this.size >= 0) {
+      if (this.size <= 1)
+        return null;
+      if (n > this.size / 2)
+        n = this.size / 2;
+    }
+    final Object[] prefix = new Object[(int) n];
+    int i = 0;
+    Seq<E> s = this.seq;
+    for (; i < n && !s.isEmpty(); i++) {
+      prefix[i] = s.head();
+      s = s.tail();
+    }
+    if (i == 0)
+      return null;
+    this.seq = s;
+    this.batch = i;
+    if (this.size > 0)
+      this.size -= i;
+    return Spliterators.spliterator(prefix, 0, i, ORDERED | IMMUTABLE);
+  }
+
+  @Override
+  public long estimateSize() {
+    return this.size >= 0 ? this.size : Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    if (this.size >= 0)
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+    return ORDERED | IMMUTABLE;
+  }
+}
@@ -0,0 +1,243 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+/** Unrolled linked list: each node holds up to 32 elements in an array. A node is a view of the
+ * elements from {@code start} to the end of the array, followed by the next sequence.
+ *
+ * <p>
+ * Prepending an element to a node stores it in the free slot before {@code start}, if no other
+ * node has used that slot already. So prepending shares the array, just as it shares the tail of a
+ * {@link LinkedSeq}. */
+public final class UnrolledSeq<E> extends AbstractSeq<E> {
+  private static final int MIN_CHUNK = 1;
+  private static final int MAX_CHUNK = 32;
+
+  /** The elements of one or more nodes. */
+  static final class Chunk {
+    private static final AtomicIntegerFieldUpdater<Chunk> FREE = AtomicIntegerFieldUpdater
+        .newUpdater(Chunk.class, "free");
+
+    final Object[]       elements;
+    /** Index of the first used slot. The slots before it can be claimed by a prepend. */
+    private volatile int free;
+
+    Chunk(final Object[] elements, final int free) {
+      this.elements = elements;
+      this.free = free;
+    }
+
+    /** Claims the slot before the given index. */
+    boolean claim(final int start) {
+      return start > 0 && FREE.compareAndSet(this, start, start - 1);
+    }
+  }
+
+  private final Chunk   chunk;
+  private final int     start;
+  private final Seq<E>  next;
+  /** -1 until the length of the next sequence is known. */
+  private volatile long _length;
+
+  private UnrolledSeq(final Chunk chunk, final int start, final Seq<E> next, final long length) {
+    super();
+    this.chunk = chunk;
+    this.start = start;
+    this.next = next;
+    this._length = length;
+  }
+
+  /** Number of elements in the array of this node. */
+  private int nodeSize() {
+    return this.chunk.elements.length - this.start;
+  }
+
+  private static long add(final long size, final long length) {
+    if (length == -1)
+      return -1;
+    return length == INFINITY ? INFINITY : size + length;
+  }
+
+  /** Prepends an element to the given sequence. The tail is not forced. A new array has room for
+   * one element in front of a sequence of another type, and twice the size of the array of the
+   * tail otherwise, so a list built by prepending has arrays of 1, 2, 4, ... 32 elements. */
+  @SuppressWarnings("unchecked")
+  static <E> UnrolledSeq<E> cons(final E head, final Seq<? extends E> tail) {
+    requireNonNull(tail, "tail");
+    if (tail instanceof UnrolledSeq) {
+      final UnrolledSeq<E> t = (UnrolledSeq<E>) tail;
+      if (t.chunk.claim(t.start)) {
+        t.chunk.elements[t.start - 1] = head;
+        return new UnrolledSeq<>(t.chunk, t.start - 1, t.next, add(1, t._length));
+      }
+    }
+    int capacity = MIN_CHUNK;
+    if (tail instanceof UnrolledSeq)
+      capacity = Math.min(MAX_CHUNK, 2 * ((UnrolledSeq<E>) tail).chunk.elements.length);
+    final Object[] elements = new Object[capacity];
+    elements[capacity - 1] = head;
+    return new UnrolledSeq<>(new Chunk(elements, capacity - 1), capacity - 1, (Seq<E>) tail,
+        add(1, knownLength(tail)));
+  }
+
+  /** Creates a sequence of the elements of the given list, with full arrays, except for the
+   * first. */
+  static <E> Seq<E> of(final List<? extends E> list) {
+    requireNonNull(list, "list");
+    final ListIterator<? extends E> itr = list.listIterator(list.size());
+    Seq<E> result = Seq.empty();
+    long length = 0;
+    while (itr.hasPrevious()) {
+      final Object[] elements = new Object[MAX_CHUNK];
+      int start = MAX_CHUNK;
+      while (start > 0 && itr.hasPrevious())
+        elements[--start] = itr.previous();
+      length += MAX_CHUNK - start;
+      result = new UnrolledSeq<>(new Chunk(elements, start), start, result, length);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E head() {
+    return (E) this.chunk.elements[this.start];
+  }
+
+  @Override
+  public Seq<E> tail() {
+    if (this.start + 1 == this.chunk.elements.length)
+      return this.next;
+    return new UnrolledSeq<>(this.chunk, this.start + 1, this.next, add(-1, this._length));
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public long length() {
+    long length = this._length;
+    if (length != -1)
+      return length;
+    // Count the nodes with unknown length, without recursion:
+    long n = 0;
+    Seq<E> s = this;
+    while (s instanceof UnrolledSeq && ((UnrolledSeq<E>) s)._length == -1) {
+      n += ((UnrolledSeq<E>) s).nodeSize();
+      s = ((UnrolledSeq<E>) s).next;
+    }
+    length = s.length();
+    return this._length = length == INFINITY ? INFINITY : length + n;
+  }
+
+  @Override
+  long knownLength() {
+    return this._length;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public E get(final int index) {
+    if (index < 0)
+      throw new IndexOutOfBoundsException();
+    int i = index;
+    Seq<E> s = this;
+    while (s instanceof UnrolledSeq) {
+      final UnrolledSeq<E> u = (UnrolledSeq<E>) s;
+      if (i < u.nodeSize())
+        return (E) u.chunk.elements[u.start + i];
+      i -= u.nodeSize();
+      s = u.next;
+    }
+    return s.get(i);
+  }
+
+  @Override
+  public Seq<E> drop(final long n) {
+    if (n <= 0)
+      return this;
+    long i = n;
+    Seq<E> s = this;
+    while (i > 0 && s instanceof UnrolledSeq) {
+      final UnrolledSeq<E> u = (UnrolledSeq<E>) s;
+      if (i < u.nodeSize())
+        return new UnrolledSeq<>(u.chunk, u.start + (int) i, u.next, add(-i, u._length));
+      i -= u.nodeSize();
+      s = u.next;
+    }
+    return s.drop(i);
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.indexOf(o) != -1;
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    int i = 0;
+    for (final E e : this) {
+      if (o == null ? e == null : o.equals(e))
+        return i;
+      i++;
+    }
+    return -1;
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private Object[] elements = UnrolledSeq.this.chunk.elements;
+      private int      index    = UnrolledSeq.this.start;
+      /** The sequence after the elements. */
+      private Seq<E>   next     = UnrolledSeq.this.next;
+
+      @Override
+      public boolean hasNext() {
+        while (this.index == this.elements.length && this.next instanceof UnrolledSeq) {
+          final UnrolledSeq<E> u = (UnrolledSeq<E>) this.next;
+          this.elements = u.chunk.elements;
+          this.index = u.start;
+          this.next = u.next;
+        }
+        return this.index < this.elements.length || !this.next.isEmpty();
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public E next() {
+        if (!this.hasNext())
+          throw new NoSuchElementException();
+        if (this.index < this.elements.length)
+          return (E) this.elements[this.index++];
+        final E e = this.next.head();
+        this.next = this.next.tail();
+        return e;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    Seq<E> s = this;
+    while (s instanceof UnrolledSeq) {
+      final UnrolledSeq<E> u = (UnrolledSeq<E>) s;
+      final Object[] elements = u.chunk.elements;
+      for (int i = u.start; i < elements.length; i++)
+        action.accept((E) elements[i]);
+      s = u.next;
+    }
+    s.forEach(action);
+  }
+}
@@ -0,0 +1,477 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/** Persistent vector: a bit-partitioned trie of arrays with 32 elements each, plus a tail array for
+ * the last elements. get, update, append, take and drop are O(log32 n), which is effectively
+ * constant. All operations share the structure of this vector.
+ *
+ * <p>
+ * {@link #drop(long) drop} and {@link #tail() tail} only move an offset, so the dropped elements
+ * are still referenced. Use a {@link Builder} to create a large vector. */
+public final class VectorSeq<E> extends AbstractSeq<E> implements RandomAccess {
+  private static final int      BITS       = 5;
+  private static final int      WIDTH      = 1 << BITS;
+  private static final int      MASK       = WIDTH - 1;
+  private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+  @SuppressWarnings("rawtypes")
+  private static final VectorSeq EMPTY = new VectorSeq<>(0, 0, BITS, EMPTY_NODE, new Object[0]);
+
+  /** Number of elements in the trie and the tail, including the dropped elements. */
+  private final int      count;
+  /** Number of dropped elements. */
+  private final int      offset;
+  private final int      shift;
+  /** Nodes always have 32 slots. The leaves are full. */
+  private final Object[] root;
+  /** Last 1 to 32 elements. Empty only if count is 0. */
+  private final Object[] tail;
+
+  private VectorSeq(final int count, final int offset, final int shift, final Object[] root,
+      final Object[] tail) {
+    super();
+    this.count = count;
+    this.offset = offset;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <E> VectorSeq<E> empty() {
+    return EMPTY;
+  }
+
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <E> VectorSeq<E> of(final E... elements) {
+    requireNonNull(elements, "elements");
+    return VectorSeq.<E> builder().addAll(Arrays.asList(elements)).build();
+  }
+
+  /** Creates a vector of the elements of the given collection. */
+  public static <E> VectorSeq<E> ofCollection(final Collection<? extends E> elements) {
+    requireNonNull(elements, "elements");
+    if (elements instanceof VectorSeq) {
+      @SuppressWarnings("unchecked")
+      final VectorSeq<E> vector = (VectorSeq<E>) elements;
+      return vector;
+    }
+    return VectorSeq.<E> builder().addAll(elements).build();
+  }
+
+  public static <E> Builder<E> builder() {
+    return new Builder<>();
+  }
+
+  /** Transient vector for bulk construction. Nodes are modified in place until {@link #build()} is
+   * invoked. A builder can't be used after that. Not thread-safe. */
+  public static final class Builder<E> {
+    private int      count = 0;
+    private int      shift = BITS;
+    private Object[] root  = new Object[WIDTH];
+    private Object[] tail  = new Object[WIDTH];
+    private boolean  built = false;
+
+    Builder() {
+      super();
+    }
+
+    public Builder<E> add(final E e) {
+      if (this.built)
+        throw new IllegalStateException("already built");
+      final int count = this.count;
+      if (count == Integer.MAX_VALUE - 8)
+        throw new OutOfMemoryError();
+      if (count - tailOffset(count) < WIDTH) {
+        this.tail[count & MASK] = e;
+      } else {
+        final Object[] node = this.tail;
+        this.tail = new Object[WIDTH];
+        this.tail[0] = e;
+        if ((count >>> BITS) > (1 << this.shift)) {
+          final Object[] root = new Object[WIDTH];
+          root[0] = this.root;
+          root[1] = newPath(this.shift, node);
+          this.root = root;
+          this.shift += BITS;
+        } else {
+          this.root = pushTail(count, this.shift, this.root, node, false);
+        }
+      }
+      this.count = count + 1;
+      return this;
+    }
+
+    public Builder<E> addAll(final Iterable<? extends E> elements) {
+      requireNonNull(elements, "elements");
+      for (final E e : elements)
+        this.add(e);
+      return this;
+    }
+
+    public VectorSeq<E> build() {
+      if (this.built)
+        throw new IllegalStateException("already built");
+      this.built = true;
+      if (this.count == 0)
+        return empty();
+      final Object[] tail = Arrays.copyOf(this.tail, this.count - tailOffset(this.count));
+      return new VectorSeq<>(this.count, 0, this.shift, this.root, tail);
+    }
+  }
+
+  /** Index of the first element in the tail. */
+  private static int tailOffset(final int count) {
+    return count <= WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+  }
+
+  private static Object[] newPath(final int level, final Object[] node) {
+    if (level == 0)
+      return node;
+    final Object[] result = new Object[WIDTH];
+    result[0] = newPath(level - BITS, node);
+    return result;
+  }
+
+  /** Inserts a full tail into the trie of a vector with the given count. */
+  private static Object[] pushTail(final int count, final int level, final Object[] parent,
+      final Object[] tail, final boolean copy) {
+    final int index = ((count - 1) >>> level) & MASK;
+    final Object[] result = copy ? parent.clone() : parent;
+    if (level == BITS) {
+      result[index] = tail;
+    } else {
+      final Object[] child = (Object[]) parent[index];
+      result[index] = child == null ? newPath(level - BITS, tail)
+          : pushTail(count, level - BITS, child, tail, copy);
+    }
+    return result;
+  }
+
+  /** Copies the path to the last leaf that is kept. Children after that leaf are removed. */
+  private static Object[] trim(final Object[] node, final int level, final int last) {
+    final int index = (last >>> level) & MASK;
+    final Object[] result = new Object[WIDTH];
+    System.arraycopy(node, 0, result, 0, index + 1);
+    if (level > BITS)
+      result[index] = trim((Object[]) node[index], level - BITS, last);
+    return result;
+  }
+
+  private static Object[] update(final int level, final Object[] node, final int i,
+      final Object value) {
+    final Object[] result = node.clone();
+    if (level == 0)
+      result[i & MASK] = value;
+    else {
+      final int index = (i >>> level) & MASK;
+      result[index] = update(level - BITS, (Object[]) node[index], i, value);
+    }
+    return result;
+  }
+
+  /** Leaf or tail that contains the element at the given absolute index. */
+  private Object[] leafFor(final int i) {
+    if (i >= tailOffset(this.count))
+      return this.tail;
+    Object[] node = this.root;
+    for (int level = this.shift; level > 0; level -= BITS)
+      node = (Object[]) node[(i >>> level) & MASK];
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  private E element(final int i) {
+    return (E) this.leafFor(i)[i & MASK];
+  }
+
+  @Override
+  public E head() {
+    if (this.isEmpty())
+      throw new NoSuchElementException();
+    return this.element(this.offset);
+  }
+
+  @Override
+  public VectorSeq<E> tail() {
+    if (this.isEmpty())
+      throw new NoSuchElementException();
+    return this.drop(1);
+  }
+
+  @Override
+  public E last() {
+    if (this.isEmpty())
+      throw new NoSuchElementException();
+    return this.element(this.count - 1);
+  }
+
+  @Override
+  public VectorSeq<E> init() {
+    if (this.isEmpty())
+      throw new NoSuchElementException();
+    return this.take(this.length() - 1);
+  }
+
+  @Override
+  public long length() {
+    return this.count - this.offset;
+  }
+
+  @Override
+  long knownLength() {
+    return this.count - this.offset;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.count == this.offset;
+  }
+
+  @Override
+  public E get(final int index) {
+    if (index < 0 || index >= this.count - this.offset)
+      throw new IndexOutOfBoundsException();
+    return this.element(this.offset + index);
+  }
+
+  /** Returns a vector with the given value at the given index. */
+  public VectorSeq<E> update(final int index, final E value) {
+    if (index < 0 || index >= this.count - this.offset)
+      throw new IndexOutOfBoundsException();
+    final int i = this.offset + index;
+    if (i >= tailOffset(this.count)) {
+      final Object[] tail = this.tail.clone();
+      tail[i & MASK] = value;
+      return new VectorSeq<>(this.count, this.offset, this.shift, this.root, tail);
+    }
+    return new VectorSeq<>(this.count, this.offset, this.shift,
+        update(this.shift, this.root, i, value), this.tail);
+  }
+
+  /** Returns a vector with the given element added at the end. */
+  public VectorSeq<E> append(final E e) {
+    final int count = this.count;
+    if (count == Integer.MAX_VALUE - 8)
+      throw new OutOfMemoryError();
+    if (count - tailOffset(count) < WIDTH) {
+      final Object[] tail = Arrays.copyOf(this.tail, this.tail.length + 1);
+      tail[this.tail.length] = e;
+      return new VectorSeq<>(count + 1, this.offset, this.shift, this.root, tail);
+    }
+    final Object[] root;
+    int shift = this.shift;
+    if ((count >>> BITS) > (1 << shift)) {
+      root = new Object[WIDTH];
+      root[0] = this.root;
+      root[1] = newPath(shift, this.tail);
+      shift += BITS;
+    } else {
+      root = pushTail(count, shift, this.root, this.tail, true);
+    }
+    return new VectorSeq<>(count + 1, this.offset, shift, root, new Object[] { e });
+  }
+
+  @SafeVarargs
+  @Override
+  public final VectorSeq<E> append(final E e, final E... more) {
+    VectorSeq<E> result = this.append(e);
+    for (final E m : more)
+      result = result.append(m);
+    return result;
+  }
+
+  /** Appends the elements of the given sequence to this vector, if the length of that sequence is
+   * known. Otherwise the sequence is appended lazily. */
+  @Override
+  public Seq<E> append(final Seq<? extends E> list) {
+    requireNonNull(list, "list");
+    if (!(list instanceof AbstractSeq) || ((AbstractSeq<?>) list).knownLength() < 0
+        || !list.isFinite())
+      return super.append(list);
+    if (this.isEmpty() && list instanceof VectorSeq) {
+      @SuppressWarnings("unchecked")
+      final VectorSeq<E> vector = (VectorSeq<E>) list;
+      return vector;
+    }
+    VectorSeq<E> result = this;
+    for (final E e : list)
+      result = result.append(e);
+    return result;
+  }
+
+  @Override
+  public VectorSeq<E> take(final long n) {
+    if (n <= 0)
+      return empty();
+    if (n >= this.length())
+      return this;
+    final int count = this.offset + (int) n;
+    final int tailOffset = tailOffset(count);
+    if (tailOffset == tailOffset(this.count)) {
+      final Object[] tail = Arrays.copyOf(this.tail, count - tailOffset);
+      return new VectorSeq<>(count, this.offset, this.shift, this.root, tail);
+    }
+    final Object[] tail = Arrays.copyOf(this.leafFor(count - 1), count - tailOffset);
+    if (tailOffset == 0)
+      return new VectorSeq<>(count, this.offset, BITS, EMPTY_NODE, tail);
+    Object[] root = trim(this.root, this.shift, tailOffset - 1);
+    int shift = this.shift;
+    while (shift > BITS && root[1] == null) {
+      root = (Object[]) root[0];
+      shift -= BITS;
+    }
+    return new VectorSeq<>(count, this.offset, shift, root, tail);
+  }
+
+  @Override
+  public VectorSeq<E> drop(final long n) {
+    if (n <= 0)
+      return this;
+    if (n >= this.length())
+      return empty();
+    return new VectorSeq<>(this.count, this.offset + (int) n, this.shift, this.root, this.tail);
+  }
+
+  @Override
+  public VectorSeq<E> reverse() {
+    if (this.length() <= 1)
+      return this;
+    final Builder<E> builder = builder();
+    for (int i = this.count - 1; i >= this.offset; i--)
+      builder.add(this.element(i));
+    return builder.build();
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return this.indexOf(o) != -1;
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    int i = 0;
+    for (final E e : this) {
+      if (o == null ? e == null : o.equals(e))
+        return i;
+      i++;
+    }
+    return -1;
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private int      i    = VectorSeq.this.offset;
+      private Object[] leaf = VectorSeq.this.leafFor(this.i);
+
+      @Override
+      public boolean hasNext() {
+        return this.i < VectorSeq.this.count;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public E next() {
+        if (this.i >= VectorSeq.this.count)
+          throw new NoSuchElementException();
+        if ((this.i & MASK) == 0)
+          this.leaf = VectorSeq.this.leafFor(this.i);
+        return (E) this.leaf[this.i++ & MASK];
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(final Consumer<? super E> action) {
+    requireNonNull(action, "action");
+    this.forEach(this.offset, this.count, (Consumer<Object>) action);
+  }
+
+  /** Performs the action for the elements in {@code [from, to)}, one leaf at a time. */
+  void forEach(final int from, final int to, final Consumer<Object> action) {
+    for (int i = from; i < to;) {
+      final Object[] leaf = this.leafFor(i);
+      final int end = Math.min(to, (i & ~MASK) + WIDTH);
+      for (; i < end; i++)
+        action.accept(leaf[i & MASK]);
+    }
+  }
+
+  @Override
+  public Object[] toArray() {
+    final Object[] result = new Object[this.count - this.offset];
+    int i = this.offset;
+    while (i < this.count) {
+      final Object[] leaf = this.leafFor(i);
+      final int n = Math.min(this.count, (i & ~MASK) + WIDTH) - i;
+      System.arraycopy(leaf, i & MASK, result, i - this.offset, n);
+      i += n;
+    }
+    return result;
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    return new VectorSpliterator(this.offset, this.count);
+  }
+
+  /** Splits the index range {@code [index, fence)} in halves. */
+  private final class VectorSpliterator implements Spliterator<E> {
+    private int       index;
+    private final int fence;
+
+    VectorSpliterator(final int index, final int fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      final int lo = this.index, mid = (lo + this.fence) >>> 1;
+      if (lo >= mid)
+        return null;
+      this.index = mid;
+      return new VectorSpliterator(lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.fence)
+        return false;
+      action.accept(VectorSeq.this.element(this.index++));
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+      requireNonNull(action, "action");
+      final int i = this.index;
+      this.index = this.fence;
+      VectorSeq.this.forEach(i, this.fence, (Consumer<Object>) action);
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package ch.claude_martin.function.sequence;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/** Lazy sequences of windows of a sequence. Each window is a view created by take and drop, so it
+ * is a slice of an {@link ArraySeq} or reads the nodes of a lazy sequence that are already forced.
+ * The generators only hold the rest of the sequence, so the elements before the current window can
+ * be garbage collected. */
+final class Windows {
+  private Windows() {
+  }
+
+  static <E> Seq<Seq<E>> sliding(final Seq<E> seq, final int size, final int step) {
+    if (size <= 0)
+      throw new IllegalArgumentException("size must be positive");
+    if (step <= 0)
+      throw new IllegalArgumentException("step must be positive");
+    if (seq.isEmpty())
+      return Seq.empty();
+    return Seq.generate(new Sliding<>(seq, size, step));
+  }
+
+  static <E> Seq<Seq<E>> chunked(final Seq<E> seq, final int n) {
+    if (n <= 0)
+      throw new IllegalArgumentException("n must be positive");
+    final long length = seq.length();
+    if (length == Seq.INFINITY)
+      throw new IllegalArgumentException("infinite sequence");
+    if (length == 0)
+      return Seq.empty();
+    return Seq.generate(new Chunks<>(seq, length, n));
+  }
+
+  /** Windows of a size, starting at every step, until a window reaches the end. */
+  private static final class Sliding<E> implements Predicate<Consumer<Seq<E>>> {
+    private final int size;
+    private final int step;
+    /** null after the last window. */
+    private Seq<E>    rest;
+
+    Sliding(final Seq<E> seq, final int size, final int step) {
+      this.rest = seq;
+      this.size = size;
+      this.step = step;
+    }
+
+    @Override
+    public boolean test(final Consumer<Seq<E>> consumer) {
+      if (this.rest == null)
+        return false;
+      consumer.accept(this.rest.take(this.size));
+      if (this.rest.drop(this.size).isEmpty())
+        this.rest = null;
+      else {
+        this.rest = this.rest.drop(this.step);
+        if (this.rest.isEmpty())
+          this.rest = null;
+      }
+      return true;
+    }
+  }
+
+  /** n chunks of the sequence, whose sizes differ by at most one. */
+  private static final class Chunks<E> implements Predicate<Consumer<Seq<E>>> {
+    private final long quotient;
+    /** Number of chunks that have one more element. */
+    private long       remainder;
+    private long       chunks;
+    private Seq<E>     rest;
+
+    Chunks(final Seq<E> seq, final long length, final int n) {
+      this.rest = seq;
+      this.chunks = Math.min(n, length);
+      this.quotient = length / this.chunks;
+      this.remainder = length % this.chunks;
+    }
+
+    @Override
+    public boolean test(final Consumer<Seq<E>> consumer) {
+      if (this.chunks == 0)
+        return false;
+      this.chunks--;
+      long size = this.quotient;
+      if (this.remainder > 0) {
+        this.remainder--;
+        size++;
+      }
+      consumer.accept(this.rest.take(size));
+      this.rest = this.chunks == 0 ? null : this.rest.drop(size);
+      return true;
+    }
+  }
+}
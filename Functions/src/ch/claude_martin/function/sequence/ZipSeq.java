@@ -0,0 +1,174 @@
+package ch.claude_martin.function.sequence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/** Lazy zip of two or more sequences. The element at index i is the zipper applied to the elements
+ * at index i of the sources, and the sequence ends with the shortest source. No element is forced
+ * before it is needed, so the sources can be infinite. The elements are memoized by a
+ * {@link LazySeq}, so the zipper is applied once per index. Only if all sources are random access
+ * and the length is known, the spliterator zips by index and splits like that of an array. */
+final class ZipSeq<R> extends AbstractSeq<R> {
+  private final Seq<?>[]              sources;
+  private final Function<Object[], R> zipper;
+  /** The zipped elements. */
+  private final LazySeq<R>            lazy;
+
+  private ZipSeq(final Seq<?>[] sources, final Function<Object[], R> zipper) {
+    super();
+    this.sources = sources;
+    this.zipper = zipper;
+    final Seq<?>[] rest = sources.clone();
+    // Invoked once per index, in order. The sources are advanced only if the zipper succeeds.
+    this.lazy = new LazySeq<>(c -> {
+      final Object[] heads = new Object[rest.length];
+      for (int i = 0; i < heads.length; i++) {
+        if (rest[i].isEmpty())
+          return false;
+        heads[i] = rest[i].head();
+      }
+      final R result = zipper.apply(heads);
+      for (int i = 0; i < rest.length; i++)
+        rest[i] = rest[i].tail();
+      c.accept(result);
+      return true;
+    });
+  }
+
+  static <R> Seq<R> of(final Function<Object[], R> zipper, final Seq<?>... sources) {
+    requireNonNull(zipper, "zipper");
+    for (final Seq<?> s : sources)
+      if (knownLength(requireNonNull(s, "sources")) == 0)
+        return Seq.empty();
+    return new ZipSeq<>(sources, zipper);
+  }
+
+  /** The sources are random access, so get takes constant time. */
+  private boolean isRandomAccess() {
+    for (final Seq<?> s : this.sources)
+      if (!(s instanceof RandomAccess))
+        return false;
+    return true;
+  }
+
+  @Override
+  public R head() {
+    return this.lazy.head();
+  }
+
+  @Override
+  public Seq<R> tail() {
+    return this.lazy.tail();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.lazy.isEmpty();
+  }
+
+  @Override
+  long knownLength() {
+    long length = INFINITY;
+    for (final Seq<?> s : this.sources) {
+      final long l = knownLength(s);
+      if (l < 0)
+        // Even if another source is shorter, the length is not known, unless it was counted.
+        return this.lazy.knownLength();
+      length = Math.min(length, l);
+    }
+    return length;
+  }
+
+  @Override
+  public long length() {
+    final long length = this.knownLength();
+    if (length >= 0)
+      return length;
+    return this.lazy.length();
+  }
+
+  @Override
+  public R get(final int index) {
+    return this.lazy.get(index);
+  }
+
+  @Override
+  public Seq<R> drop(final long n) {
+    if (n <= 0)
+      return this;
+    return this.lazy.drop(n);
+  }
+
+  @Override
+  public Iterator<R> iterator() {
+    return this.lazy.iterator();
+  }
+
+  @Override
+  public void forEach(final Consumer<? super R> action) {
+    requireNonNull(action, "action");
+    this.lazy.forEach(action);
+  }
+
+  /** The zipper applied to the elements of the sources at the given index, which is not memoized.
+   * This is only used by the {@link IndexSpliterator}. */
+  private R zipAt(final int index) {
+    final Object[] elements = new Object[this.sources.length];
+    for (int i = 0; i < elements.length; i++)
+      elements[i] = this.sources[i].get(index);
+    return this.zipper.apply(elements);
+  }
+
+  @Override
+  public Spliterator<R> spliterator() {
+    final long length = this.knownLength();
+    if (length >= 0 && length <= Integer.MAX_VALUE && this.isRandomAccess())
+      return new IndexSpliterator(0, (int) length);
+    return super.spliterator();
+  }
+
+  /** Splits the range of indices in halves. */
+  private final class IndexSpliterator implements Spliterator<R> {
+    private int       index;
+    private final int to;
+
+    IndexSpliterator(final int from, final int to) {
+      this.index = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+      requireNonNull(action, "action");
+      if (this.index >= this.to)
+        return false;
+      action.accept(ZipSeq.this.zipAt(this.index++));
+      return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+      final int mid = (this.index + this.to) >>> 1;
+      if (mid <= this.index)
+        return null;
+      final Spliterator<R> prefix = new IndexSpliterator(this.index, mid);
+      this.index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.to - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+    }
+  }
+}
@@ -55,7 +55,7 @@ class QuadImpl<A, B, C, D> implements Quad<A, B, C, D> {
       return false;
     final Quad<?, ?, ?, ?> e = (Quad<?, ?, ?, ?>) o;
     return Objects.equals(this.a, e._1()) && Objects.equals(this.b, e._2())
-        && Objects.equals(this.c, e._3()) && Objects.equals(this.c, e._4());
+        && Objects.equals(this.c, e._3()) && Objects.equals(this.d, e._4());
   }
 
   @Override
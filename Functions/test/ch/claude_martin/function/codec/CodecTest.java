@@ -0,0 +1,169 @@
+package ch.claude_martin.function.codec;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import ch.claude_martin.function.sequence.Seq;
+import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Quad;
+import ch.claude_martin.function.tuple.Triplet;
+
+public class CodecTest {
+
+  private static <E> byte[] encode(final Codec<E> codec, final E e) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    codec.write(new DataOutputStream(bytes), e);
+    return bytes.toByteArray();
+  }
+
+  /** The exception that is thrown by the given code. */
+  private static RuntimeException thrown(final Runnable r) {
+    try {
+      r.run();
+    } catch (final RuntimeException e) {
+      return e;
+    }
+    fail("nothing thrown");
+    return null;
+  }
+
+  private static <E> E roundTrip(final Codec<E> codec, final E e) throws IOException {
+    final byte[] bytes = encode(codec, e);
+    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    final E result = codec.read(in);
+    assertEquals(-1, in.read());
+    return result;
+  }
+
+  @Test
+  public final void testPrimitives() throws IOException {
+    assertEquals(true, roundTrip(Codec.BOOLEAN, true));
+    assertEquals((byte) -3, (byte) roundTrip(Codec.BYTE, (byte) -3));
+    assertEquals((short) 1234, (short) roundTrip(Codec.SHORT, (short) 1234));
+    assertEquals('\u00e4', (char) roundTrip(Codec.CHAR, '\u00e4'));
+    assertEquals(Integer.MIN_VALUE, (int) roundTrip(Codec.INT, Integer.MIN_VALUE));
+    assertEquals(Long.MAX_VALUE, (long) roundTrip(Codec.LONG, Long.MAX_VALUE));
+    assertEquals(1.5f, roundTrip(Codec.FLOAT, 1.5f), 0f);
+    assertEquals(Math.E, roundTrip(Codec.DOUBLE, Math.E), 0d);
+    for (final int i : new int[] { 0, 1, -1, 63, -64, 64, 1 << 20, Integer.MAX_VALUE,
+        Integer.MIN_VALUE })
+      assertEquals(i, (int) roundTrip(Codec.VARINT, i));
+    for (final long l : new long[] { 0, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 40 })
+      assertEquals(l, (long) roundTrip(Codec.VARLONG, l));
+    assertEquals(1, encode(Codec.VARINT, -64).length);
+    assertEquals(2, encode(Codec.VARINT, 64).length);
+    assertEquals(5, encode(Codec.VARINT, Integer.MIN_VALUE).length);
+    assertEquals(10, encode(Codec.VARLONG, Long.MIN_VALUE).length);
+  }
+
+  @Test
+  public final void testStrings() throws IOException {
+    assertEquals("", roundTrip(Codec.STRING, ""));
+    assertEquals("Gr\u00fcezi \uD83D\uDE00", roundTrip(Codec.STRING, "Gr\u00fcezi \uD83D\uDE00"));
+    final char[] chars = new char[100_000];
+    Arrays.fill(chars, 'x');
+    final String big = new String(chars);
+    assertEquals(big, roundTrip(Codec.STRING, big));
+    assertEquals(null, roundTrip(Codec.STRING.nullable(), null));
+    assertEquals("a", roundTrip(Codec.STRING.nullable(), "a"));
+  }
+
+  @Test
+  public final void testTuples() throws IOException {
+    final Pair<String, Integer> pair = Pair.of("a", 1);
+    assertEquals(pair, roundTrip(Codec.pair(Codec.STRING, Codec.VARINT), pair));
+    assertEquals(3, encode(Codec.pair(Codec.STRING, Codec.VARINT), pair).length);
+    final Triplet<Long, Double, Boolean> triplet = Triplet.of(7L, 0.5, false);
+    assertEquals(triplet, roundTrip(Codec.triplet(Codec.VARLONG, Codec.DOUBLE, Codec.BOOLEAN),
+        triplet));
+    final Quad<Integer, String, Seq<Integer>, Pair<Byte, Byte>> quad = Quad.of(1, "b",
+        Seq.of(1, 2, 3), Pair.of((byte) 4, (byte) 5));
+    assertEquals(quad, roundTrip(Codec.quad(Codec.INT, Codec.STRING, Codec.VARINT.seq(),
+        Codec.pair(Codec.BYTE, Codec.BYTE)), quad));
+  }
+
+  @Test
+  public final void testStream() throws IOException {
+    final Seq<Pair<Integer, String>> seq = Seq.range(0, 10_000).map(
+        i -> Pair.of(i, Integer.toHexString(i)));
+    final Codec<Pair<Integer, String>> codec = Codec.pair(Codec.VARINT, Codec.STRING);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    codec.writeAll(bytes, seq);
+    assertEquals(seq, codec.readAll(new ByteArrayInputStream(bytes.toByteArray())));
+
+    bytes.reset();
+    Codec.INT.writeAll(Channels.newChannel(bytes), Seq.empty());
+    assertEquals(1, bytes.size());
+    assertEquals(Seq.empty(), Codec.INT.readAll(Channels.newChannel(new ByteArrayInputStream(
+        bytes.toByteArray()))));
+  }
+
+  @Test
+  public final void testInfinite() throws IOException {
+    // Writing is incremental, so an infinite sequence can be streamed until the stream fails:
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final OutputStream limited = new OutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        if (bytes.size() >= 1 << 16)
+          throw new IOException("full");
+        bytes.write(b);
+      }
+    };
+    try {
+      Codec.VARINT.writeAll(limited, Seq.iterate(0, (final Integer i) -> i + 1));
+      fail("stream is full");
+    } catch (final IOException e) {
+      assertEquals("full", e.getMessage());
+    }
+    // Reading is lazy, so the truncated stream can be read up to the missing part:
+    final Seq<Integer> s = Codec.VARINT.readAll(new ByteArrayInputStream(bytes.toByteArray()));
+    assertEquals(Seq.range(0, 1_000), s.take(1_000));
+    try {
+      s.length();
+      fail("stream is truncated");
+    } catch (final UncheckedIOException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+    }
+  }
+
+  @Test
+  public final void testReadFailure() throws IOException {
+    // The reader fails after the first int of a pair, so the stream is in the middle of an element:
+    final Codec<Pair<Integer, Integer>> codec = Codec.of((out, p) -> {
+      out.writeInt(p._1());
+      out.writeInt(p._2());
+    }, in -> {
+      final int a = in.readInt();
+      if (a < 0)
+        throw new IllegalArgumentException("negative");
+      return Pair.of(a, in.readInt());
+    });
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    codec.writeAll(bytes, Seq.of(Pair.of(1, 2), Pair.of(-1, 0), Pair.of(3, 4)));
+    final Seq<Pair<Integer, Integer>> s = codec.readAll(new ByteArrayInputStream(bytes
+        .toByteArray()));
+    assertEquals(Pair.of(1, 2), s.head());
+    final RuntimeException first = thrown(() -> s.get(1));
+    assertTrue(first instanceof IllegalArgumentException);
+    assertSame(first, thrown(() -> s.get(1)));
+    assertSame(first, thrown(() -> s.length()));
+
+    final Seq<Integer> truncated = Codec.INT.readAll(new ByteArrayInputStream(new byte[] { 1, 0 }));
+    final RuntimeException eof = thrown(() -> truncated.head());
+    assertTrue(eof.getCause() instanceof EOFException);
+    assertSame(eof, thrown(() -> truncated.head()));
+  }
+}
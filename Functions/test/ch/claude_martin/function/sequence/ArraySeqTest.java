@@ -0,0 +1,130 @@
+package ch.claude_martin.function.sequence;
+
+import static ch.claude_martin.function.sequence.SeqTest.assertThrows;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class ArraySeqTest {
+  private final Seq<Integer> s = Seq.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+  @Test
+  public final void testViews() {
+    final Seq<Integer> view = this.s.drop(2).take(5);
+    assertTrue(view instanceof ArraySeq);
+    assertEquals(Seq.of(2, 3, 4, 5, 6), view);
+    assertEquals(5, view.length());
+    assertEquals(2, (int) view.get(0));
+    assertEquals(6, (int) view.get(4));
+    assertEquals(6, (int) view.last());
+    assertEquals(Seq.of(2, 3, 4, 5), view.init());
+    assertEquals(Seq.of(3, 4), view.subList(1, 3));
+    assertEquals(Seq.empty(), view.subList(2, 2));
+    assertTrue(view.init() instanceof ArraySeq);
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(5));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subList(0, 6));
+    assertArrayEquals(new Object[] { 2, 3, 4, 5, 6 }, view.toArray());
+    assertArrayEquals(new Integer[] { 2, 3, 4, 5, 6 }, view.toArray(new Integer[0]));
+    assertEquals(Arrays.asList(2, 3, 4, 5, 6), view.stream().collect(Collectors.toList()));
+    assertEquals(3, view.indexOf(5));
+    assertEquals(-1, view.indexOf(7));
+  }
+
+  @Test
+  public final void testReverse() {
+    final Seq<Integer> r = this.s.reverse();
+    assertTrue(r instanceof ArraySeq);
+    assertEquals(Seq.of(9, 8, 7, 6, 5, 4, 3, 2, 1, 0), r);
+    assertEquals(0, (int) r.last());
+    assertEquals(Seq.of(9, 8, 7), r.take(3));
+    assertEquals(Seq.of(6, 5, 4), r.drop(3).take(3));
+    assertEquals(Seq.of(9, 8, 7, 6, 5, 4, 3, 2, 1), r.init());
+    assertEquals(Seq.of(7, 6), r.subList(2, 4));
+    assertEquals(this.s, r.reverse());
+    assertArrayEquals(new Object[] { 9, 8, 7 }, r.take(3).toArray());
+    assertEquals(Arrays.asList(6, 5, 4),
+        r.drop(3).take(3).parallelStream().collect(Collectors.toList()));
+    assertEquals(2, r.indexOf(7));
+  }
+
+  @Test
+  public final void testSortedReverse() {
+    final Seq<Integer> sorted = Seq.of(5, 3, 3, 9, 1).sorted();
+    final Seq<Integer> desc = sorted.reverse();
+    assertTrue(((ArraySeq<Integer>) desc).isSortedBy(Comparator.reverseOrder()));
+    assertFalse(((ArraySeq<Integer>) desc).isSortedBy(Comparator.naturalOrder()));
+    assertSame(desc, desc.sorted(Comparator.reverseOrder()));
+    assertEquals(Seq.of(9, 5, 3, 3, 1), desc);
+    assertEquals(2, desc.indexOf(3));
+    assertEquals(3, desc.lastIndexOf(3));
+    assertEquals(4, desc.indexOf(1));
+    assertEquals(-1, desc.indexOf(4));
+  }
+
+  @Test
+  public final void testWindows() {
+    final Seq<Integer> s = Seq.of(1, 2, 3, 4, 5, 6, 7);
+    for (final Seq<Integer> w : s.sliding(3, 2))
+      assertTrue(w instanceof ArraySeq);
+    assertEquals(Seq.of(Seq.of(1, 2, 3), Seq.of(3, 4, 5), Seq.of(5, 6, 7)), s.sliding(3, 2));
+    assertEquals(Seq.of(Seq.of(7, 6, 5), Seq.of(4, 3, 2), Seq.of(1)), s.reverse().grouped(3));
+    assertEquals(Seq.of(Seq.of(1, 2, 3), Seq.of(4, 5), Seq.of(6, 7)), s.chunked(3));
+  }
+
+  @Test
+  public final void testBuilder() {
+    final ArraySeq.Builder<Integer> builder = Seq.builder();
+    for (int i = 0; i < 1_000; i++)
+      builder.add(i);
+    final Seq<Integer> built = builder.build();
+    assertTrue(built instanceof ArraySeq);
+    assertEquals(Seq.range(0, 1_000), built);
+    assertEquals(999, (int) built.get(999));
+    assertThrows(IllegalStateException.class, () -> builder.add(1));
+    assertThrows(IllegalStateException.class, () -> builder.build());
+    assertEquals(Seq.empty(), Seq.builder().build());
+
+    final ArraySeq.Builder<Integer> a = Seq.<Integer> builder().addAll(Arrays.asList(1, 2));
+    final ArraySeq.Builder<Integer> b = Seq.<Integer> builder().addAll(Arrays.asList(3, 4));
+    final Seq<Integer> combined = a.combine(Seq.builder()).combine(b).add(5).build();
+    assertEquals(Seq.of(1, 2, 3, 4, 5), combined);
+    assertThrows(IllegalStateException.class, () -> b.add(1));
+  }
+
+  @Test
+  public final void testCollector() {
+    final List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++)
+      list.add(i);
+    final Seq<Integer> sequential = list.stream().collect(Seq.toSeq());
+    assertTrue(sequential instanceof ArraySeq);
+    assertEquals(list, sequential);
+    final Seq<Integer> parallel = list.parallelStream().collect(Seq.toSeq());
+    assertEquals(list, parallel);
+    assertEquals(54_321, (int) parallel.get(54_321));
+    assertTrue(Seq.ofCollection(list) instanceof ArraySeq);
+    assertEquals(list, Seq.ofCollection(list));
+  }
+
+  @Test
+  public final void testEquals() {
+    final Seq<Integer> r = this.s.reverse();
+    assertEquals(r.reverse(), this.s);
+    assertEquals(Seq.of(9, 8, 7, 6, 5, 4, 3, 2, 1, 0), r);
+    assertEquals(r, Seq.of(9, 8, 7, 6, 5, 4, 3, 2, 1, 0));
+    assertNotEquals(r, this.s);
+    assertEquals(this.s.drop(3), Seq.range(3, 10));
+    assertNotEquals(this.s.take(3), this.s.drop(7));
+    // Different hash codes, but the same length:
+    final Seq<Integer> other = Seq.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 10);
+    assertNotEquals(this.s.hashCode(), other.hashCode());
+    assertNotEquals(this.s, other);
+    assertEquals(this.s.hashCode(), Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).hashCode());
+  }
+}
@@ -0,0 +1,95 @@
+package ch.claude_martin.function.sequence;
+
+import static ch.claude_martin.function.sequence.SeqTest.assertThrows;
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import org.junit.Test;
+
+public class ChunkedSeqTest {
+
+  /** Writes the given numbers of elements, one count per call, and then nothing. The elements are
+   * 0, 1, 2 and so on. */
+  private static ObjIntConsumer<Consumer<Integer>> chunks(final AtomicInteger calls,
+      final int... sizes) {
+    final int[] next = { 0 };
+    return (sink, max) -> {
+      final int call = calls.getAndIncrement();
+      if (call < sizes.length)
+        for (int i = 0; i < sizes[call]; i++)
+          sink.accept(next[0]++);
+    };
+  }
+
+  @Test
+  public final void testChunkBoundaries() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> s = Seq.generate(4, chunks(calls, 4, 4, 4));
+    assertEquals(0, calls.get());
+    assertEquals(0, (int) s.head());
+    assertEquals(1, calls.get());
+    // The last element of a chunk and the first of the next one:
+    assertEquals(3, (int) s.get(3));
+    assertEquals(1, calls.get());
+    assertEquals(4, (int) s.get(4));
+    assertEquals(2, calls.get());
+    assertEquals(Seq.of(3, 4, 5), s.drop(3).take(3));
+    assertEquals(4, (int) s.drop(3).tail().head());
+    assertEquals(Seq.of(8, 9, 10, 11), s.drop(8));
+    assertEquals(Seq.empty(), s.drop(12));
+    assertEquals(12, s.length());
+    assertEquals(11, (int) s.last());
+    assertEquals(Seq.range(0, 12), s);
+    // The generator is invoked once per chunk, and once more for the end:
+    assertEquals(4, calls.get());
+    assertThrows(IndexOutOfBoundsException.class, () -> s.get(12));
+  }
+
+  @Test
+  public final void testPartialChunk() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> s = Seq.generate(4, chunks(calls, 4, 1, 4, 2));
+    assertEquals(Seq.range(0, 11), s);
+    assertEquals(11, s.length());
+    assertEquals(5, calls.get());
+    assertEquals(4, (int) s.get(4));
+    assertEquals(5, (int) s.get(5));
+    assertEquals(10, (int) s.last());
+    assertEquals(Seq.of(9, 10), s.drop(9));
+    assertEquals(2, s.drop(9).length());
+    int sum = 0;
+    for (final int i : s.drop(3))
+      sum += i;
+    assertEquals(52, sum);
+  }
+
+  @Test
+  public final void testTooManyElements() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> s = Seq.generate(4, chunks(calls, 4, 5));
+    assertEquals(3, (int) s.get(3));
+    assertThrows(IllegalStateException.class, () -> s.get(4));
+    final Seq<Integer> tooMany = Seq.generate(2, chunks(new AtomicInteger(), 3));
+    assertThrows(IllegalStateException.class, () -> tooMany.head());
+    assertThrows(IllegalArgumentException.class, () -> Seq.generate(0, chunks(calls)));
+  }
+
+  @Test
+  public final void testEmptyFirstChunk() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> s = Seq.generate(4, chunks(calls));
+    assertTrue(s.isEmpty());
+    assertTrue(s.isEmpty());
+    assertEquals(1, calls.get());
+    assertEquals(0, s.length());
+    assertEquals(Seq.empty(), s);
+    assertFalse(s.iterator().hasNext());
+    assertThrows(NoSuchElementException.class, () -> s.head());
+    assertThrows(NoSuchElementException.class, () -> s.tail());
+    assertEquals(Seq.empty(), s.drop(1));
+  }
+}
@@ -0,0 +1,118 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class ConcatSeqTest {
+
+  @Test
+  public final void testAppendInLoop() {
+    final List<Integer> expected = new ArrayList<>();
+    Seq<Integer> s = Seq.empty();
+    for (int i = 0; i < 10_000; i++) {
+      s = s.append(Seq.of(2 * i, 2 * i + 1));
+      expected.add(2 * i);
+      expected.add(2 * i + 1);
+    }
+    assertTrue(s instanceof ConcatSeq);
+    assertEquals(20_000, s.length());
+    assertEquals(expected, s);
+    assertEquals(expected, new ArrayList<>(s));
+    for (int i = 0; i < 20_000; i += 99)
+      assertEquals(i, (int) s.get(i));
+    assertEquals(19_999, (int) s.last());
+    assertEquals(expected.subList(12_345, 20_000), s.drop(12_345));
+    assertEquals(expected.subList(1, 20_000), s.tail());
+    assertEquals(expected, s.parallelStream().collect(Collectors.toList()));
+    // AVL trees are at most 1.44 times as deep as perfectly balanced trees:
+    assertTrue(ConcatSeq.depth(s) <= 1.44 * Math.log(10_000) / Math.log(2) + 1);
+  }
+
+  @Test
+  public final void testConcatAll() {
+    @SuppressWarnings("unchecked")
+    final Seq<Integer>[] parts = (Seq<Integer>[]) new Seq<?>[1_000];
+    for (int i = 0; i < parts.length; i++)
+      parts[i] = i % 3 == 0 ? Seq.empty() : Seq.range(10 * i, 10 * i + 10);
+    final Seq<Integer> s = Seq.concatAll(parts);
+    final List<Integer> expected = new ArrayList<>();
+    for (final Seq<Integer> p : parts)
+      expected.addAll(p);
+    assertEquals(expected.size(), s.length());
+    assertEquals(expected, s);
+    assertEquals(expected.get(5_000), s.get(5_000));
+    assertTrue(ConcatSeq.depth(s) <= 11);
+    assertEquals(Seq.empty(), Seq.concatAll());
+    assertEquals(Seq.of(1), Seq.concatAll(Seq.empty(), Seq.of(1)));
+
+    final Spliterator<Integer> spliterator = s.spliterator();
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+    assertEquals(expected.size(), spliterator.estimateSize());
+    final Spliterator<Integer> prefix = spliterator.trySplit();
+    assertNotNull(prefix);
+    assertEquals(expected.size(), prefix.estimateSize() + spliterator.estimateSize());
+  }
+
+  @Test
+  public final void testLazy() {
+    final Seq<Integer> naturals = Seq.iterate(0, (UnaryOperator<Integer>) i -> i + 1);
+    final Seq<Integer> s = Seq.concatAll(Seq.of(-2, -1), naturals, Seq.of(-3));
+    assertEquals(Seq.of(-2, -1, 0, 1, 2), s.take(5));
+    assertEquals(100, (int) s.get(102));
+    assertFalse(s.spliterator().hasCharacteristics(Spliterator.SIZED));
+    assertEquals(Seq.of(3, 4), Seq.of(1, 2).append(naturals).drop(5).take(2));
+  }
+
+  @Test
+  public final void testTail() {
+    @SuppressWarnings("unchecked")
+    final Seq<Integer>[] parts = (Seq<Integer>[]) new Seq<?>[100];
+    for (int i = 0; i < parts.length; i++)
+      parts[i] = Seq.range(3 * i, 3 * i + 3);
+    final Seq<Integer> s = Seq.concatAll(parts);
+    Seq<Integer> t = s;
+    for (int i = 0; i < 300; i++) {
+      assertEquals(i, (int) t.head());
+      assertEquals(300 - i, t.length());
+      assertEquals(299, (int) t.last());
+      assertEquals(Seq.range(i, 300), t);
+      assertEquals(Seq.range(Math.min(i + 50, 300), 300), t.drop(50));
+      t = t.tail();
+    }
+    assertTrue(t.isEmpty());
+    // Walking the tails does not rebuild the tree:
+    assertFalse(s.tail() instanceof ConcatSeq);
+    assertEquals(Seq.range(60, 300), s.tail().drop(59));
+    assertEquals(Seq.range(2, 300), s.tail().tail());
+    final Seq<Integer> naturals = Seq.iterate(0, (UnaryOperator<Integer>) i -> i + 1);
+    assertEquals(Seq.of(1, 2, 3), Seq.concatAll(Seq.of(0), naturals).tail().tail().take(3));
+  }
+
+  @Test
+  public final void testDropManyLeaves() {
+    Seq<Integer> appended = Seq.empty();
+    for (int i = 0; i < 200_000; i++)
+      appended = appended.append(Seq.of(i, i));
+    assertEquals(Seq.of(199_500, 199_500), appended.tail().drop(398_999).take(2));
+    assertEquals(Seq.of(199_999), appended.tail().drop(399_998));
+    assertEquals(Seq.empty(), appended.tail().drop(400_000));
+
+    @SuppressWarnings("unchecked")
+    final Seq<Integer>[] singletons = (Seq<Integer>[]) new Seq<?>[200_000];
+    for (int i = 0; i < singletons.length; i++)
+      singletons[i] = Seq.of(i);
+    final Seq<Integer> s = Seq.concatAll(singletons);
+    assertEquals(Seq.range(199_001, 200_000), s.tail().drop(199_000));
+    // A lazy sequence of unknown length is counted only when it is dropped entirely:
+    final Seq<Integer> lazy = Seq.concatAll(Seq.of(0), Seq.of(1, 2).filter(x -> true), s);
+    assertEquals(Seq.of(2, 0, 1), lazy.tail().drop(1).take(3));
+    assertEquals(Seq.of(199_999), lazy.tail().drop(200_001));
+  }
+}
@@ -0,0 +1,71 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class CursorTest {
+
+  @Test
+  public final void testGenerateOnce() {
+    final AtomicLong counter = new AtomicLong();
+    final Cursor<Long> cursor = Seq.generateOnce(counter::getAndIncrement);
+    assertEquals(0, counter.get());
+    assertTrue(cursor.hasNext());
+    assertEquals(1, counter.get());
+    assertEquals(0L, (long) cursor.next());
+    // Ten million elements, but no nodes:
+    final long sum = cursor.filter(i -> i % 2 == 0).map(i -> i / 2).take(10_000_000)
+        .foldLeft((a, b) -> a + b, 0L);
+    assertEquals(10_000_000L * (10_000_000L + 1) / 2, sum);
+  }
+
+  @Test
+  public final void testEnd() {
+    final Cursor<Integer> cursor = Seq.generateOnce(c -> false);
+    assertFalse(cursor.hasNext());
+    SeqTest.assertThrows(NoSuchElementException.class, cursor::next);
+    final int[] i = { 0 };
+    final Cursor<Integer> three = Seq.generateOnce(() -> {
+      if (i[0] == 3)
+        throw new IllegalStateException();
+      return i[0]++;
+    });
+    assertEquals(Seq.of(0, 1, 2), three.stream().collect(Seq.toSeq()));
+    assertFalse(three.hasNext());
+  }
+
+  @Test
+  public final void testCursorOfSeq() {
+    final Seq<Integer> seq = Seq.of(1, 2, 3, 4).repeat().take(10);
+    assertEquals(seq, seq.cursor().stream().collect(Collectors.toList()));
+    assertEquals(Seq.of(2, 4, 2, 4), seq.cursor().filter(x -> x % 2 == 0).take(4).stream()
+        .collect(Seq.toSeq()));
+    assertFalse(Seq.empty().cursor().hasNext());
+  }
+
+  @Test
+  public final void testNoRetention() {
+    final Cursor<Object> cursor = Seq.generateOnce(Object::new);
+    final WeakReference<Object> first = new WeakReference<>(cursor.next());
+    for (int i = 0; i < 1_000 && first.get() != null; i++) {
+      cursor.take(1_000).foldLeft((a, b) -> b, null);
+      System.gc();
+    }
+    assertNull(first.get());
+
+    // Same for a lazy sequence, if nothing else refers to it:
+    final Cursor<Object> fromSeq = Seq.generate(Object::new).cursor();
+    final WeakReference<Object> head = new WeakReference<>(fromSeq.next());
+    for (int i = 0; i < 1_000 && head.get() != null; i++) {
+      fromSeq.take(1_000).foldLeft((a, b) -> b, null);
+      System.gc();
+    }
+    assertNull(head.get());
+  }
+}
@@ -0,0 +1,74 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+/** The operations must not recurse on the tail, or they would throw StackOverflowError. */
+public class DeepSeqTest {
+  private static final int N = 1_000_000;
+
+  private static Seq<Integer> lazy() {
+    return Seq.iterate(0, (UnaryOperator<Integer>) i -> i + 1).take(N);
+  }
+
+  private static Seq<Integer> linked() {
+    Seq<Integer> s = Seq.empty();
+    for (int i = N - 1; i >= 0; i--)
+      s = Seq.seq(i, s);
+    return s;
+  }
+
+  @Test
+  public final void testLazy() {
+    final Seq<Integer> s = lazy();
+    assertEquals(N, s.length());
+    assertEquals(N - 1, (int) s.get(N - 1));
+    assertEquals(N - 1, (int) s.last());
+    assertTrue(s.contains(N - 1));
+    assertTrue(s.all(i -> i >= 0));
+    assertFalse(s.any(i -> i < 0));
+    assertEquals(1, s.drop(N - 1).length());
+    assertEquals(N, s.toArray().length);
+    assertEquals(N - 1, (int) s.reverse().head());
+    assertEquals(lazy(), s);
+    assertEquals(N, (int) s.foldRight((i, n) -> n + 1, 0));
+  }
+
+  @Test
+  public final void testLazyLength() {
+    // Each length is counted on a fresh sequence, so no length is known yet:
+    assertEquals(N, lazy().length());
+    assertEquals(N - 2, lazy().drop(2).length());
+    assertEquals(N, IntSeq.iterate(0, i -> i + 1).take(N).length());
+  }
+
+  @Test
+  public final void testLinked() {
+    final Seq<Integer> s = linked();
+    assertEquals(N, s.length());
+    assertEquals(N - 1, (int) s.get(N - 1));
+    assertEquals(N - 1, (int) s.last());
+    assertTrue(s.contains(N - 1));
+    assertEquals(linked(), s);
+    assertEquals(s, lazy());
+    assertEquals(N, (int) s.foldRight((i, n) -> n + 1, 0));
+  }
+
+  @Test
+  public final void testFoldRightOrder() {
+    assertEquals("123X", Seq.of("1", "2", "3").foldRight(String::concat, "X"));
+  }
+
+  @Test
+  public final void testInfiniteTail() {
+    // The tail is lazy and infinite, so its length is never counted:
+    final Seq<Integer> naturals = Seq.iterate(0, (UnaryOperator<Integer>) i -> i + 1);
+    final Seq<Integer> s = Seq.seq(-1, naturals);
+    assertEquals(Seq.of(-1, 0, 1), s.take(3));
+    assertEquals(Seq.of(0, 1, 2), naturals.append(Seq.of(-1)).take(3));
+    assertEquals(Seq.of(0, 1, 0, 1, 0), naturals.take(2).repeat().take(5));
+  }
+}
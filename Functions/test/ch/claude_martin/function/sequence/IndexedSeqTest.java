@@ -0,0 +1,71 @@
+package ch.claude_martin.function.sequence;
+
+import static ch.claude_martin.function.sequence.SeqTest.assertThrows;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class IndexedSeqTest {
+
+  @Test
+  public final void testLookups() {
+    final Seq<String> s = Seq.of("a", "b", null, "a", "c", "b", "a").indexed();
+    assertTrue(s instanceof IndexedSeq);
+    assertSame(s, s.indexed());
+    assertEquals(Seq.of("a", "b", null, "a", "c", "b", "a"), s);
+    assertEquals(7, s.length());
+    assertTrue(s.contains("c"));
+    assertTrue(s.contains(null));
+    assertFalse(s.contains("x"));
+    assertEquals(0, s.indexOf("a"));
+    assertEquals(6, s.lastIndexOf("a"));
+    assertEquals(2, s.indexOf(null));
+    assertEquals(2, s.lastIndexOf(null));
+    assertEquals(4, s.lastIndexOf("c"));
+    assertEquals(-1, s.indexOf("x"));
+    assertEquals(-1, s.lastIndexOf("x"));
+    assertEquals(Seq.of("a", "b", null, "c"), s.distinct());
+    final Seq<Integer> unique = Seq.range(0, 10).indexed();
+    assertSame(unique, unique.distinct());
+  }
+
+  @Test
+  public final void testEmptyAndInfinite() {
+    assertSame(Seq.empty(), Seq.empty().indexed());
+    assertThrows(IllegalArgumentException.class, () -> Seq.of(1).repeat().indexed());
+  }
+
+  @Test
+  public final void testConcurrentLookups() throws Exception {
+    final List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++)
+      list.add(i % 1_000);
+    final Seq<Integer> s = Seq.ofCollection(list).indexed();
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++)
+        results.add(pool.submit(() -> {
+          start.await();
+          int sum = 0;
+          for (int i = 0; i < 1_000; i++)
+            sum += s.lastIndexOf(i) - s.indexOf(i);
+          return sum;
+        }));
+      start.countDown();
+      for (final Future<Integer> result : results)
+        assertEquals(1_000 * 99_000, (int) result.get(10, TimeUnit.SECONDS));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class LazySeqTest {
+
+  @Test
+  public final void testGeneratorInvokedOncePerPosition() throws Exception {
+    final int threads = 8, elements = 20_000;
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> seq = Seq.generate(calls::getAndIncrement);
+
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      final CyclicBarrier barrier = new CyclicBarrier(threads);
+      final List<Future<Long>> sums = new ArrayList<>();
+      for (int t = 0; t < threads; t++)
+        sums.add(pool.submit(() -> {
+          barrier.await();
+          long sum = 0;
+          Seq<Integer> s = seq;
+          for (int i = 0; i < elements; i++) {
+            assertEquals(i, (int) s.head());
+            sum += s.head();
+            s = s.tail();
+          }
+          return sum;
+        }));
+      for (final Future<Long> sum : sums)
+        assertEquals((long) elements * (elements - 1) / 2, (long) sum.get());
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(elements, calls.get());
+  }
+
+  @Test
+  public final void testRetryAfterException() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> seq = Seq.generate(c -> {
+      if (calls.incrementAndGet() == 1)
+        throw new IllegalStateException("first call fails");
+      c.accept(42);
+      return true;
+    });
+    try {
+      seq.head();
+      fail("expected: IllegalStateException");
+    } catch (final IllegalStateException e) {
+      // expected!
+    }
+    assertEquals(42, (int) seq.head());
+  }
+
+  @Test
+  public final void testChainedOperators() {
+    final AtomicInteger pulled = new AtomicInteger();
+    final Seq<Integer> source = Seq.generate(pulled::getAndIncrement);
+    final Seq<String> chained = source.map(i -> i % 10).distinct().filter(i -> i % 2 == 0)
+        .map(i -> "#" + i).take(3);
+    assertEquals(Seq.of("#0", "#2", "#4"), chained);
+    assertEquals(5, pulled.get()); // take must not pull more than necessary
+
+    assertEquals(Seq.of(1, 2, 3, 4), Seq.of(1, 2).append(Seq.of(3)).append(Seq.of(4)));
+    assertEquals(Seq.of(2, 4, 6), Seq.of(1, 2).append(Seq.of(3, 4)).map(i -> 2 * i).init());
+    assertEquals(Seq.of(1, 2, 1), Seq.of(1, 2).map(i -> i).append(Seq.of(1)));
+    assertEquals(Seq.empty(), Seq.of(1, 2, 3).filter(i -> i > 5).map(i -> i * 2));
+  }
+
+  @Test
+  public final void testChainIsImmutable() {
+    final Seq<Integer> base = Seq.of(1, 2, 3, 4, 5).map(i -> i * 10);
+    final Seq<Integer> a = base.filter(i -> i > 20);
+    final Seq<Integer> b = base.take(2);
+    assertEquals(Seq.of(30, 40, 50), a);
+    assertEquals(Seq.of(10, 20), b);
+    assertEquals(Seq.of(10, 20, 30, 40, 50), base);
+    assertEquals(Seq.of(20, 30), base.tail().take(2));
+  }
+
+  @Test
+  public final void testChainIsMemoized() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Object> base = Seq.range(0, 5).map(i -> {
+      calls.incrementAndGet();
+      return new Object();
+    });
+    // Derived from the unforced sequence, but the mapper is not run again:
+    final Seq<Object> same = base.map(x -> x);
+    final Seq<Object> all = base.filter(x -> true);
+    assertEquals(base, same);
+    assertEquals(same, all);
+    assertSame(base.head(), all.head());
+    assertEquals(base.tail(), base.take(3).tail().append(base.drop(3)));
+    assertEquals(5, calls.get());
+  }
+
+  @Test
+  public final void testSpliterator() {
+    final Seq<Integer> linked = Seq.range(0, 10_000).stream().collect(Seq.toSeq());
+    final Spliterator<Integer> s = linked.spliterator();
+    assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    assertEquals(10_000, s.estimateSize());
+    final Spliterator<Integer> prefix = s.trySplit();
+    assertEquals(10_000, prefix.estimateSize() + s.estimateSize());
+
+    final Seq<Integer> naturals = Seq.iterate(0, (UnaryOperator<Integer>) i -> i + 1);
+    assertFalse(naturals.spliterator().hasCharacteristics(Spliterator.SIZED));
+    // The batches double in size:
+    final Spliterator<Integer> unknown = naturals.spliterator();
+    for (int batch = SeqSpliterator.BATCH_UNIT; batch <= 8 * SeqSpliterator.BATCH_UNIT; batch *= 2)
+      assertEquals(batch, unknown.trySplit().estimateSize());
+    assertEquals(499_500, naturals.parallelStream().limit(1_000).mapToInt(i -> i).sum());
+
+    assertEquals(Arrays.asList(3, 4), Seq.of(1, 2, 3, 4).tail().tail().stream()
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  public final void testLazyOperators() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Integer> naturals = Seq.generate(calls::getAndIncrement);
+    final Seq<Integer> sums = naturals.dropWhile(i -> i < 5).takeWhile(i -> i < 1_000)
+        .scanLeft((a, b) -> a + b, 0);
+    assertEquals(0, calls.get());
+    assertEquals(Seq.of(0, 5, 11, 18), sums.take(4));
+    assertEquals(8, calls.get());
+    // Each aggregate is computed once:
+    assertEquals(499_490, (int) sums.get(995));
+    assertEquals(Seq.of(499_490), sums.drop(995));
+    assertEquals(1_001, calls.get());
+
+    final Seq<Integer> flat = naturals.flatMap(i -> Seq.of(i).repeat(0, i % 3));
+    assertEquals(Seq.of(1, 2, 2, 4, 5, 5), flat.take(6));
+    final Seq<Integer> infiniteInner = Seq.of(1, 2).flatMap(i -> Seq.of(i).repeat());
+    assertEquals(Seq.of(1, 1, 1), infiniteInner.take(3));
+    // An exception ends the sequence, just as for the other operators:
+    assertEquals(Seq.of(12, 12, 6, 6), Seq.of(1, 2, 0, 3).flatMap(i -> Seq.of(12 / i, 12 / i)));
+  }
+}
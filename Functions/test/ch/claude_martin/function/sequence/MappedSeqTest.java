@@ -0,0 +1,85 @@
+package ch.claude_martin.function.sequence;
+
+import static ch.claude_martin.function.sequence.SeqTest.assertThrows;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.claude_martin.function.sequence.MappedSeq.Format;
+import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Triplet;
+
+public class MappedSeqTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public final void testLongs() throws IOException {
+    final Path file = this.folder.newFile().toPath();
+    final Seq<Long> longs = Seq.range(0L, 100_000L);
+    assertEquals(100_000, MappedSeq.write(file, Format.LONG, longs));
+    assertEquals(8 * 100_000, Files.size(file));
+
+    final Seq<Long> s = MappedSeq.open(file, Format.LONG);
+    assertTrue(s instanceof MappedSeq);
+    assertEquals(100_000, s.length());
+    assertEquals(longs, s);
+    assertEquals(0L, (long) s.head());
+    assertEquals(99_999L, (long) s.last());
+    assertEquals(12_345L, (long) s.get(12_345));
+    assertEquals(longs.drop(10).take(20), s.drop(10).take(20));
+    assertEquals(longs.subList(5, 7), s.subList(5, 7));
+    assertEquals(longs.init(), s.init());
+    assertEquals(Seq.empty(), s.drop(100_000));
+    assertEquals(Seq.empty(), s.take(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> s.get(100_000));
+    assertEquals(longs.stream().mapToLong(l -> l).sum(),
+        s.parallelStream().mapToLong(l -> l).sum());
+    assertEquals(longs, s.parallelStream().collect(Collectors.toList()));
+  }
+
+  @Test
+  public final void testTuples() throws IOException {
+    final Path file = this.folder.newFile().toPath();
+    final Format<Triplet<Integer, Double, Long>> format = Format.triplet(Format.INT,
+        Format.DOUBLE, Format.LONG);
+    assertEquals(20, format.size());
+    final Seq<Triplet<Integer, Double, Long>> triplets = Seq.range(0, 1_000).map(
+        i -> Triplet.of(i, i / 2d, -i * 1_000_000_000_000L));
+    MappedSeq.write(file, format, triplets);
+    assertEquals(triplets, MappedSeq.open(file, format));
+
+    final Format<Pair<Long, Double>> format2 = Format.pair(Format.LONG, Format.DOUBLE);
+    final Seq<Pair<Long, Double>> pairs = Seq.of(Pair.of(1L, 0.5), Pair.of(-1L, Math.PI));
+    MappedSeq.write(file, format2, pairs);
+    assertEquals(16 * 2, Files.size(file));
+    assertEquals(pairs, MappedSeq.open(file, format2));
+  }
+
+  @Test
+  public final void testEmptyAndInvalid() throws IOException {
+    final Path file = this.folder.newFile().toPath();
+    assertEquals(0, MappedSeq.write(file, Format.INT, Seq.empty()));
+    assertEquals(Seq.empty(), MappedSeq.open(file, Format.INT));
+    Files.write(file, new byte[] { 1, 2, 3 });
+    try {
+      MappedSeq.open(file, Format.INT);
+      fail("size is not a multiple of 4");
+    } catch (final IOException e) {
+      // expected
+    }
+    try {
+      MappedSeq.write(file, Format.INT, Seq.of(1).repeat());
+      fail("infinite sequence");
+    } catch (final IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
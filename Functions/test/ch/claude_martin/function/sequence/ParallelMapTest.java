@@ -0,0 +1,83 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ParallelMapTest {
+
+  @Test
+  public final void testOrder() {
+    // Later elements are mapped faster, but the order is kept:
+    final Seq<Integer> s = Seq.range(0, 200).mapParallel(i -> {
+      try {
+        Thread.sleep(i % 5);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return i * 2;
+    }, 8);
+    assertEquals(Seq.range(0, 200).map(i -> i * 2), s);
+    assertEquals(Seq.empty(), Seq.<Integer> empty().mapParallel(i -> i, 4));
+    SeqTest.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).mapParallel(i -> i, 0));
+  }
+
+  @Test
+  public final void testConcurrency() throws InterruptedException {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      // All four must run at the same time, or none would finish:
+      final CountDownLatch latch = new CountDownLatch(4);
+      final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+      final Seq<Integer> s = Seq.of(1, 2, 3, 4).mapParallel(i -> {
+        threads.add(Thread.currentThread());
+        latch.countDown();
+        try {
+          assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        return -i;
+      }, 4, executor);
+      assertEquals(Seq.of(-1, -2, -3, -4), s);
+      assertEquals(4, threads.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public final void testInfinite() {
+    final AtomicInteger mapped = new AtomicInteger();
+    final Seq<Integer> s = Seq.of(1, 2, 3).repeat().mapParallel(i -> {
+      mapped.incrementAndGet();
+      return i * 10;
+    }, 3);
+    assertEquals(Seq.of(10, 20, 30, 10, 20), s.take(5));
+    assertTrue(mapped.get() <= 5 + 3);
+    final Seq<Integer> lazy = Seq.iterate(0, (final Integer i) -> i + 1).mapParallel(i -> -i, 2);
+    assertEquals(-99, (int) lazy.get(99));
+  }
+
+  @Test
+  public final void testException() {
+    final Seq<Integer> s = Seq.of(1, 2, 0, 4).mapParallel(i -> 12 / i, 2);
+    assertEquals(Seq.of(12, 6), s.take(2));
+    SeqTest.assertThrows(ArithmeticException.class, () -> s.get(2));
+    // The failure is not skipped when the element is read again:
+    SeqTest.assertThrows(ArithmeticException.class, () -> s.get(2));
+    SeqTest.assertThrows(ArithmeticException.class, () -> s.get(3));
+    final Seq<Integer> t = Seq.of(1, 2, 3, 4, 5).mapParallel(x -> 10 / (x - 2) * x, 2);
+    SeqTest.assertThrows(ArithmeticException.class, () -> t.get(1));
+    SeqTest.assertThrows(ArithmeticException.class, () -> t.get(1));
+    assertEquals(-10, (int) t.head());
+  }
+}
@@ -0,0 +1,81 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class PrefetchTest {
+
+  @Test
+  public final void testPrefetch() {
+    final Seq<Integer> s = Seq.range(0, 1_000).prefetch(16);
+    assertEquals(Seq.range(0, 1_000), s);
+    // memoized:
+    assertSame(s.tail(), s.tail());
+    assertEquals(Seq.range(0, 1_000), s);
+    assertEquals(Seq.of(1, null, 3), Seq.of(1, null, 3).prefetch(1));
+    assertEquals(Seq.empty(), Seq.empty().prefetch(4));
+    SeqTest.assertThrows(IllegalArgumentException.class, () -> Seq.of(1).prefetch(0));
+  }
+
+  /** Waits until the producer has generated at least n elements and waits for room in the buffer,
+   * which is the only timed wait of the producer. */
+  private static void awaitBlocked(final Thread producer, final AtomicInteger counter,
+      final int n) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (counter.get() < n || producer.getState() != Thread.State.TIMED_WAITING) {
+      assertTrue("producer did not block", System.nanoTime() < deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  public final void testBackPressure() throws InterruptedException {
+    final AtomicInteger counter = new AtomicInteger();
+    final Thread[] producer = { null };
+    final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+      producer[0] = new Thread(r);
+      return producer[0];
+    });
+    try {
+      final Seq<Integer> s = Seq.generateAsync(c -> {
+        c.accept(counter.getAndIncrement());
+        return true;
+      }, 10, executor);
+      // The producer stops when the buffer is full. It holds one more element that it can't put.
+      awaitBlocked(producer[0], counter, 11);
+      assertEquals(11, counter.get());
+      assertEquals(Seq.range(0, 5), s.take(5));
+      awaitBlocked(producer[0], counter, 16);
+      assertEquals(16, counter.get());
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public final void testException() {
+    final int[] i = { 0 };
+    final Seq<Integer> s = Seq.generateAsync(c -> {
+      if (i[0] == 3)
+        throw new IllegalStateException("broken");
+      c.accept(i[0]++);
+      return true;
+    }, 2, Prefetch.EXECUTOR);
+    assertEquals(Seq.of(0, 1, 2), s.take(3));
+    try {
+      s.drop(3).isEmpty();
+      fail("exception of the generator");
+    } catch (final IllegalStateException e) {
+      assertEquals("broken", e.getMessage());
+    }
+    // Again, the same exception:
+    SeqTest.assertThrows(IllegalStateException.class, () -> s.drop(3).head());
+  }
+}
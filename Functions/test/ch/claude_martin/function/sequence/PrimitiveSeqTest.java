@@ -0,0 +1,67 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class PrimitiveSeqTest {
+
+  @Test
+  public final void testIntSeq() {
+    final IntSeq s = IntSeq.of(1, 2, 3, 4, 5);
+    assertEquals(1, s.headInt());
+    assertEquals(5, s.getInt(4));
+    assertEquals(15, s.foldLeftInt(Integer::sum, 0));
+    assertEquals(IntSeq.of(2, 4), s.filterInt(i -> i % 2 == 0));
+    assertEquals(IntSeq.of(10, 20, 30), s.mapInt(i -> i * 10).take(3));
+    assertEquals(IntSeq.of(4, 5), s.drop(3));
+    assertEquals(IntSeq.empty(), s.drop(10));
+    assertArrayEquals(new int[] { 2, 3 }, s.drop(1).take(2).toIntArray());
+    assertEquals(Seq.of(1, 2, 3, 4, 5), s);
+    assertTrue(s.contains(3));
+    assertFalse(s.contains(3L));
+
+    try {
+      IntSeq.empty().headInt();
+      fail("expected: NoSuchElementException");
+    } catch (final NoSuchElementException e) {
+      // expected!
+    }
+  }
+
+  @Test
+  public final void testLazyIntSeq() {
+    final IntSeq naturals = IntSeq.iterate(0, i -> i + 1);
+    assertEquals(1_000, naturals.getInt(1_000));
+    assertEquals(45, naturals.take(10).foldLeftInt(Integer::sum, 0));
+    assertEquals(IntSeq.of(0, 3, 6), naturals.filterInt(i -> i % 3 == 0).take(3));
+    assertEquals(10, naturals.drop(10).headInt());
+    assertEquals(100, Seq.range(0, 100).length());
+    assertEquals(IntSeq.of(5, 6, 7), Seq.rangeClosed(5, 7));
+  }
+
+  @Test
+  public final void testLongSeq() {
+    final LongSeq s = LongSeq.of(Long.MAX_VALUE, 0L, Long.MIN_VALUE);
+    assertEquals(Long.MAX_VALUE, s.headLong());
+    assertEquals(Long.MIN_VALUE, s.getLong(2));
+    assertEquals(-1L, s.foldLeftLong(Long::sum, 0L));
+    assertEquals(LongSeq.of(0L), s.filterLong(l -> l == 0));
+    assertEquals(Seq.of(3L, 4L, 5L), Seq.range(3L, 6L));
+    assertEquals(LongSeq.of(2L, 4L), LongSeq.iterate(1L, l -> l * 2).drop(1).take(2));
+  }
+
+  @Test
+  public final void testDoubleSeq() {
+    final DoubleSeq s = DoubleSeq.of(0.5, Double.NaN, -0.0);
+    assertEquals(0.5, s.headDouble(), 0.0);
+    assertTrue(Double.isNaN(s.getDouble(1)));
+    assertTrue(s.contains(Double.NaN));
+    assertFalse(s.contains(0.0));
+    assertEquals(1.0, s.mapDouble(d -> d * 2).headDouble(), 0.0);
+    assertEquals(0.75, DoubleSeq.iterate(0.5, d -> d / 2).take(2).foldLeftDouble(Double::sum, 0),
+        0.0);
+  }
+}
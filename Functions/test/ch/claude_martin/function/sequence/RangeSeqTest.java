@@ -0,0 +1,71 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+public class RangeSeqTest {
+
+  @Test
+  public final void testIntRange() {
+    final IntSeq r = Seq.range(10, 20, 3);
+    assertEquals(IntSeq.of(10, 13, 16, 19), r);
+    assertEquals(4, r.length());
+    assertEquals(16, r.getInt(2));
+    assertEquals(19, (int) r.last());
+    assertTrue(r.contains(13));
+    assertFalse(r.contains(14));
+    assertFalse(r.contains(22));
+    assertEquals(3, r.indexOf(19));
+    assertEquals(-1, r.indexOf(20));
+    assertEquals(IntSeq.of(13, 16), r.drop(1).take(2));
+    assertEquals(IntSeq.of(19, 16, 13, 10), r.reverse());
+    assertEquals(Seq.range(19, 9, -3), r.reverse());
+    assertEquals(IntSeq.empty(), Seq.range(5, 5));
+  }
+
+  @Test
+  public final void testIntRangeLimits() {
+    final IntSeq all = Seq.rangeClosed(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    assertEquals(1L << 32, all.length());
+    assertEquals(Integer.MAX_VALUE, (int) all.last());
+    assertEquals(Integer.MIN_VALUE, all.reverse().getInt(all.length() - 1));
+    assertTrue(all.contains(0));
+    assertEquals(Integer.MAX_VALUE, all.indexOf(Integer.MAX_VALUE));
+    assertEquals(Integer.MAX_VALUE, all.lastIndexOf(0));
+    assertEquals(1, all.indexOf(Integer.MIN_VALUE + 1));
+    assertEquals(Integer.MAX_VALUE, Seq.range(Integer.MAX_VALUE, Integer.MIN_VALUE, -1).headInt());
+  }
+
+  @Test
+  public final void testLongRange() {
+    final LongSeq r = Seq.range(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+    assertEquals(3, r.length());
+    assertEquals(Seq.of(Long.MIN_VALUE, -1L, Long.MAX_VALUE - 1), r);
+    assertTrue(r.contains(-1L));
+    assertFalse(r.contains(0L));
+    assertEquals(2, r.indexOf(Long.MAX_VALUE - 1));
+    final LongSeq all = Seq.range(0L, Long.MAX_VALUE - 1);
+    assertEquals(Integer.MAX_VALUE, all.indexOf(1L << 40));
+    assertEquals(7, all.indexOf(7L));
+    assertEquals(-1, all.indexOf(Long.MAX_VALUE));
+    assertEquals(-1, all.indexOf(0));
+    assertEquals(Long.MAX_VALUE - 1, (long) r.last());
+    assertEquals(Seq.of(3L, 2L, 1L), Seq.range(1L, 4L).reverse());
+  }
+
+  @Test
+  public final void testSpliterator() {
+    final IntSeq r = Seq.range(0, 1_000_000_000);
+    final Spliterator<Integer> s = r.spliterator();
+    assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    final Spliterator<Integer> prefix = s.trySplit();
+    assertEquals(500_000_000, prefix.estimateSize());
+    assertEquals(500_000_000, s.estimateSize());
+
+    final long sum = Seq.range(0, 100_000).parallelStream().mapToLong(i -> i).sum();
+    assertEquals(99_999L * 100_000 / 2, sum);
+  }
+}
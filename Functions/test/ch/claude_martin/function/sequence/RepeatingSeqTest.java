@@ -5,7 +5,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -153,4 +155,68 @@ public class RepeatingSeqTest {
     assertEquals(Seq.of(0, 0, 1, 1, 1, 2, 2, 2, 3, 3), sorted);
   }
 
+  @Test
+  public final void testLongIndex() {
+    final RepeatingSeq<Integer> r = (RepeatingSeq<Integer>) this.s0123
+        .repeat(1, 1_000_000_000_000L);
+    assertEquals(1, (int) r.get(0L));
+    assertEquals(0, (int) r.get(999_999_999_999L));
+    assertEquals(0, (int) r.last());
+    assertEquals(3, r.indexOfLong(0));
+    assertEquals(999_999_999_999L, r.lastIndexOfLong(0));
+    assertEquals(-1, r.lastIndexOfLong(4));
+    assertEquals(3, (int) r.drop(999_999_999_998L).head());
+    assertEquals(Seq.of(2, 3, 0), r.drop(10_000_000_001L).take(3));
+    assertEquals(Integer.MAX_VALUE, r.lastIndexOf(0));
+    assertEquals(3, r.indexOf(0));
+    SeqTest.assertThrows(IndexOutOfBoundsException.class, () -> r.get(1_000_000_000_000L));
+    final RepeatingSeq<Integer> inf = (RepeatingSeq<Integer>) this.sInfinite;
+    assertEquals(2, (int) inf.get(Long.MAX_VALUE - 1));
+    assertEquals(Seq.INFINITY, inf.drop(1_000_000_000_000L).length());
+    SeqTest.assertThrows(NoSuchElementException.class, () -> inf.last());
+  }
+
+  @Test
+  public final void testNested() {
+    final Seq<Integer> twice = this.s0123.repeat(2, 8);
+    final RepeatingSeq<Integer> nested = (RepeatingSeq<Integer>) twice.repeat(1, 10);
+    assertEquals(Seq.of(3, 0, 1, 2, 3, 0, 1, 2, 3, 0), nested);
+    assertEquals(Seq.of(3, 0), nested.take(2));
+    // A length that is not a multiple of the cycle is a new cycle:
+    assertEquals(Seq.of(0, 3, 0, 3, 0, 0, 3, 0, 3), this.s30.repeat(1, 5).repeat(0, 9));
+    final Seq<Integer> uneven = this.s30.repeat(1, 5).repeat(2, 9);
+    assertEquals(Seq.of(0, 3, 0, 0, 3, 0, 3, 0, 0), uneven);
+    assertEquals(Seq.of(0, 0, 3, 0, 3, 0, 0, 3, 0), uneven.reverse());
+    assertEquals(1, uneven.indexOf(3));
+    assertEquals(6, uneven.lastIndexOf(3));
+    assertEquals(Seq.of(3, 0, 0), uneven.drop(6));
+    assertEquals(Seq.of(3, 0, 0, 3, 0, 0, 3), uneven.repeat(5, 4).drop(1).repeat(0, 7));
+  }
+
+  @Test
+  public final void testNestedLong() {
+    // The inner sequence is not copied, so this does not need 10^12 elements:
+    final Seq<Integer> nested = Seq.of(1, 2, 3).repeat().take(1_000_000_000_001L).repeat();
+    assertTrue(nested instanceof RepeatingSeq);
+    final RepeatingSeq<Integer> r = (RepeatingSeq<Integer>) nested;
+    assertEquals(1, (int) r.get(999_999_999_999L));
+    assertEquals(2, (int) r.get(1_000_000_000_000L));
+    assertEquals(1, (int) r.get(1_000_000_000_001L));
+    assertEquals(Seq.of(1, 2, 1, 2, 3), r.drop(999_999_999_999L).take(5));
+    assertEquals(Seq.of(2, 1, 3, 2, 1), r.reverse().take(5));
+    assertEquals(Seq.of(3, 2, 1, 2, 1), r.take(2_000_000_000_002L).reverse().drop(999_999_999_998L)
+        .take(5));
+  }
+
+  @Test
+  public final void testSpliterator() {
+    final Seq<Integer> r = this.s0123.repeat(1, 1_000_001);
+    assertEquals(1_000_001, r.stream().parallel().count());
+    assertEquals(1_500_001L,
+        (long) r.parallelStream().collect(Collectors.summingLong(Integer::longValue)));
+    assertEquals(Seq.of(1, 2, 3, 0, 1), this.sInfinite.drop(1).stream().parallel().limit(5)
+        .collect(Seq.toSeq()));
+    assertEquals(Seq.of(2, 1, 0, 3, 2, 1, 0, 3, 2, 1), this.s1230123012.reverse());
+  }
+
 }
@@ -5,8 +5,11 @@ import static org.junit.Assume.assumeTrue;
 
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
@@ -20,9 +23,11 @@ import ch.claude_martin.function.tuple.Pair;
 public class SeqTest {
   private final Seq<?>  sequence;
   private final boolean isFinite;
+  private final boolean isPrimitive;
 
   public SeqTest(final String name, final Seq<?> s) {
     this.sequence = s;
+    this.isPrimitive = s instanceof IntSeq || s instanceof LongSeq || s instanceof DoubleSeq;
 
     boolean _f = false;
     Seq<?> _s = s;
@@ -48,6 +53,14 @@ public class SeqTest {
     }
   }
 
+  /** Elements of primitive sequences are boxed on access, so they are only equal, not the same. */
+  private void assertSameElement(final Object expected, final Object actual) {
+    if (this.isPrimitive)
+      assertEquals(expected, actual);
+    else
+      assertSame(expected, actual);
+  }
+
   @Parameters(name = "{0}")
   public static Iterable<Object[]> params() {
     try {
@@ -58,16 +71,46 @@ public class SeqTest {
       return Arrays.asList(//
           new Object[][] { //
               { "array", oneTo4 }, //
+              { "arrayView", Seq.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).drop(2).take(6).reverse() },//
               { "linked", Seq.seq(1, Seq.seq(2, Seq.seq(3, Seq.seq(4, Seq.empty())))) }, //
+              { "unrolled", Seq.seq(-1, Seq.ofCollection(new ArrayList<>(Seq.range(0, 100)))) },//
               { "empty", Seq.empty() },//
               { "null", Seq.of(null, oneTo4) }, //
               { "misc", misc },//
               { "range", Seq.range(-128, 128) }, //
+              { "rangeStep", Seq.range(100L, -100L, -7L) }, //
               { "infinite", s },//
               { "iterate", Seq.iterate(System.nanoTime(), x -> rng.nextLong()) },//
               { "append", oneTo4.append(oneTo4) },//
+              { "concatAll", Seq.<Object> concatAll(oneTo4, Seq.range(10, 20), misc, Seq.empty(),
+                  Seq.of("x")) },//
               { "repeat", misc.repeat(4, 11) },//
-              { "take", s.take(4) }
+              { "indexed", Seq.of(1, 2, 1, 4, 3).indexed() },//
+              { "zip", Seq.zip(misc, Seq.range(0, 3), (a, b) -> a) },//
+              { "zipInfinite", Seq.zip(s, Seq.of(1, 2).repeat(), (a, b) -> a) },//
+              { "repeatInfinite", Seq.of(1, 2, 3).repeat() },//
+              { "take", s.take(4) },//
+              { "chained", Seq.range(0, 50).map(i -> i / 2).distinct().filter(i -> i % 3 != 0)
+                  .append(oneTo4).take(30) },//
+              { "chunked", Seq.<Integer> generate(16, new ObjIntConsumer<Consumer<Integer>>() {
+                int next = 0;
+
+                @Override
+                public void accept(final Consumer<Integer> sink, final int max) {
+                  for (int i = 0; i < max && this.next < 100; i++)
+                    sink.accept(this.next++);
+                }
+              }) },//
+              { "chunkedInfinite", Seq.<Long> generate(100, (sink, max) -> {
+                for (int i = 0; i < max; i++)
+                  sink.accept(rng.nextLong());
+              }) },//
+              { "longs", Seq.ofLongs(Long.MIN_VALUE, -1L, 0L, 42L, Long.MAX_VALUE) },//
+              { "doubles", Seq.ofDoubles(Double.NaN, -0.0, 0.0, 1e300) },//
+              { "mapInt", Seq.range(0, 100).mapInt(i -> i * i).filterInt(i -> i % 3 == 0) },//
+              { "lazyLongs", LongSeq.generate(rng::nextLong) },//
+              { "vector", Seq.range(0, 1_000).stream().collect(Seq.toVectorSeq()).drop(3)
+                  .append(-1).take(1_000) }
           });
     } catch (final Throwable e) {
       throw new RuntimeException("Can't create sequences for test.", e);
@@ -99,6 +142,25 @@ public class SeqTest {
     assertEquals(this.sequence, clone);
   }
 
+  @Test
+  public final void testEqualsHashCode() {
+    if (!this.isFinite)
+      return;
+    final List<?> list = new ArrayList<>(this.sequence);
+    assertEquals(list.hashCode(), this.sequence.hashCode());
+    assertEquals(list.hashCode(), this.sequence.hashCode());
+    assertEquals(this.sequence, list);
+    assertEquals(list, this.sequence);
+    final Seq<?> copy = this.sequence.stream().collect(Seq.toSeq());
+    assertEquals(copy, this.sequence);
+    assertEquals(this.sequence, copy);
+    assertEquals(this.sequence, Seq.ofCollection(new LinkedList<>(list)));
+    if (!this.sequence.isEmpty()) {
+      assertNotEquals(this.sequence, this.sequence.tail());
+      assertNotEquals(this.sequence.tail(), this.sequence);
+    }
+  }
+
   @Test
   public final void testHead() {
     if (this.sequence.isEmpty())
@@ -111,6 +173,8 @@ public class SeqTest {
   public final void testTail() {
     if (this.sequence.isEmpty())
       assertThrows(NoSuchElementException.class, this.sequence::tail);
+    else if (!this.isFinite) // the length of an infinite, lazy sequence can't be counted.
+      this.assertSameElement(this.sequence.get(1), this.sequence.tail().head());
     else
       assertEquals(this.sequence.length() - 1, this.sequence.tail().length());
   }
@@ -179,6 +243,29 @@ public class SeqTest {
         string);
   }
 
+  @Test
+  public final void testParallelFold() {
+    if (!this.isFinite)
+      return;
+    // associative, but not commutative:
+    final BinaryOperator<String> concat = String::concat;
+    final String expected = this.sequence.map(Objects::toString).foldLeft(concat, "");
+    final ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      assertEquals(expected, this.sequence.map(Objects::toString).parallelFold("",
+          concat, concat, 1, pool));
+      assertEquals(expected, this.sequence.parallelFold("", (s, e) -> s + e, concat));
+      if (this.sequence.isEmpty())
+        assertThrows(NoSuchElementException.class,
+            () -> this.sequence.parallelReduce((a, b) -> a));
+      else
+        assertEquals(expected, this.sequence.map(Objects::toString).parallelReduce(concat, 2,
+            pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public final void testAppend() {
@@ -208,8 +295,8 @@ public class SeqTest {
       return;
     }
     if (!this.isFinite) {
-      assertSame(this.sequence.head(), this.sequence.get(0));
-      assertSame(this.sequence.get(123), this.sequence.get(123));
+      this.assertSameElement(this.sequence.head(), this.sequence.get(0));
+      this.assertSameElement(this.sequence.get(123), this.sequence.get(123));
       return;
     }
 
@@ -284,6 +371,54 @@ public class SeqTest {
     assertEquals(Seq.ofInts(1), s.filter(i -> i == 1));
   }
 
+  @Test
+  public final void testTakeWhileDropWhile() {
+    if (!this.isFinite) {
+      // must be lazy and return quickly:
+      assertEquals(this.sequence.take(3), this.sequence.takeWhile(e -> true).take(3));
+      assertEquals(this.sequence.head(), this.sequence.dropWhile(e -> false).head());
+      return;
+    }
+    assertEquals(this.sequence, this.sequence.takeWhile(e -> true));
+    assertEquals(Seq.empty(), this.sequence.takeWhile(e -> false));
+    assertEquals(this.sequence, this.sequence.dropWhile(e -> false));
+    assertEquals(Seq.empty(), this.sequence.dropWhile(e -> true));
+    final long length = this.sequence.length();
+    for (int n = 0; n <= length; n++) {
+      final int i = n;
+      final int[] count = { 0 };
+      assertEquals(this.sequence.take(n), this.sequence.takeWhile(e -> count[0]++ < i));
+      count[0] = 0;
+      assertEquals(this.sequence.drop(n), this.sequence.dropWhile(e -> count[0]++ < i));
+    }
+  }
+
+  @Test
+  public final void testScanLeft() {
+    if (!this.isFinite) {
+      final Seq<Integer> counts = this.sequence.scanLeft((n, e) -> n + 1, 0);
+      assertEquals(Seq.of(0, 1, 2, 3), counts.take(4));
+      return;
+    }
+    final Seq<Integer> counts = this.sequence.scanLeft((n, e) -> n + 1, 0);
+    assertEquals(Seq.range(0, (int) this.sequence.length() + 1), counts);
+    assertEquals(Seq.of(0, 1, 3, 6, 10), Seq.of(1, 2, 3, 4).scanLeft((a, b) -> a + b, 0));
+  }
+
+  @Test
+  public final void testFlatMap() {
+    if (!this.isFinite) {
+      assertEquals(Seq.of(this.sequence.head(), this.sequence.head()),
+          this.sequence.flatMap(e -> Seq.of(e, e)).take(2));
+      return;
+    }
+    assertEquals(this.sequence, this.sequence.flatMap(Seq::of));
+    assertEquals(Seq.empty(), this.sequence.flatMap(e -> Seq.empty()));
+    assertEquals(this.sequence.length() * 2, this.sequence.flatMap(e -> Seq.of(e, e)).length());
+    assertEquals(Seq.of(1, 2, 2, 3, 3, 3),
+        Seq.of(0, 1, 2, 3).flatMap(i -> Seq.of(i).repeat(0, i)));
+  }
+
   @Test
   public final void testPartition() {
     if(!this.isFinite)
@@ -294,6 +429,41 @@ public class SeqTest {
     assertEquals(this.sequence.length(), partition._1().length() + partition._2().length());
   }
 
+  @Test
+  public final void testWindows() {
+    if (!this.isFinite) {
+      final Seq<? extends Seq<?>> windows = this.sequence.sliding(5, 2);
+      assertEquals(this.sequence.drop(4).take(5), windows.get(2));
+      assertEquals(this.sequence.take(3), this.sequence.grouped(3).head());
+      // chunked would count a lazy sequence forever:
+      if (AbstractSeq.knownLength(this.sequence) == Seq.INFINITY)
+        assertThrows(IllegalArgumentException.class, () -> this.sequence.chunked(2));
+      return;
+    }
+    final List<?> list = new ArrayList<>(this.sequence);
+    for (final int size : new int[] { 1, 2, 3, 7 })
+      for (final int step : new int[] { 1, 2, 3, 7 }) {
+        final List<List<?>> expected = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += step) {
+          expected.add(list.subList(i, Math.min(i + size, list.size())));
+          if (i + size >= list.size())
+            break;
+        }
+        assertEquals(expected, this.sequence.sliding(size, step));
+        if (size == step)
+          assertEquals(expected, this.sequence.grouped(size));
+      }
+    for (final int n : new int[] { 1, 2, 3, 100 }) {
+      final Seq<? extends Seq<?>> chunks = this.sequence.chunked(n);
+      assertEquals(Math.min(n, list.size()), chunks.length());
+      assertEquals(list, chunks.stream().flatMap(Seq::stream).collect(Collectors.toList()));
+      for (final Seq<?> c : chunks)
+        assertTrue(Math.abs(c.length() - list.size() / n) <= 1);
+    }
+    assertThrows(IllegalArgumentException.class, () -> this.sequence.sliding(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> this.sequence.sliding(1, 0));
+  }
+
   @Test
   public final void testDistinct() {
     if (!this.isFinite)
@@ -324,7 +494,8 @@ public class SeqTest {
       assertFalse(this.sequence.any(v -> true));
     else {
       assertTrue(this.sequence.any(v -> true));
-      assertTrue(this.sequence.any(v -> v == this.sequence.head()));
+      final Object head = this.sequence.head();
+      assertTrue(this.sequence.any(v -> this.isPrimitive ? Objects.equals(v, head) : v == head));
     }
     if (this.isFinite)
       assertFalse(this.sequence.any(v -> false));
@@ -337,7 +508,7 @@ public class SeqTest {
 
     final int size = this.isFinite ? this.sequence.size() : 10;
     for (int i = 0; i < size; i++)
-      assertSame(this.sequence.get(i), ident.get(i));
+      this.assertSameElement(this.sequence.get(i), ident.get(i));
     if (!this.isFinite)
       return;
 
@@ -383,7 +554,14 @@ public class SeqTest {
   @Test
   public final void testToArray() {
     if (!this.isFinite) {
-      assertThrows(OutOfMemoryError.class, () -> this.sequence.toArray());
+      // A sequence that is known to be infinite fails at once. The length of a lazy sequence is not
+      // known, so toArray would force elements until the memory is exhausted.
+      if (AbstractSeq.knownLength(this.sequence) == Seq.INFINITY) {
+        assertThrows(OutOfMemoryError.class, () -> this.sequence.toArray());
+        assertThrows(OutOfMemoryError.class, () -> this.sequence.toArray(new Object[0]));
+      }
+      assertThrows(OutOfMemoryError.class, () -> Seq.of(this.sequence.head()).repeat().toArray());
+      assertEquals(100, this.sequence.take(100).toArray().length);
       return;
     }
 
@@ -445,7 +623,7 @@ public class SeqTest {
     assertThrows(RuntimeException.class, itr::remove);
 
     if (!this.sequence.isEmpty()) {
-      assertSame(this.sequence.head(), itr.next());
+      this.assertSameElement(this.sequence.head(), itr.next());
       itr.forEachRemaining(x -> {
         assertTrue(this.sequence.contains(x));
       });
@@ -456,6 +634,20 @@ public class SeqTest {
   }
 
 
+  @Test
+  public final void testParallelStream() {
+    if (!this.isFinite) {
+      // must not force the whole sequence:
+      assertEquals(100, this.sequence.parallelStream().limit(100).count());
+      return;
+    }
+    final List<?> expected = new ArrayList<>(this.sequence);
+    assertEquals(expected, this.sequence.parallelStream().collect(Collectors.toList()));
+    final Spliterator<?> spliterator = this.sequence.spliterator();
+    if (spliterator.hasCharacteristics(Spliterator.SIZED))
+      assertEquals(expected.size(), spliterator.getExactSizeIfKnown());
+  }
+
   @Test
   public final void testReverse() {
     if (!this.isFinite) {
@@ -0,0 +1,55 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+public class SortedSeqTest {
+
+  @Test
+  public final void testParallelSort() {
+    final Random rng = new Random(42);
+    final List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < 2 * ArraySeq.PARALLEL_SORT_THRESHOLD; i++)
+      list.add(rng.nextInt(1_000));
+    final Seq<Integer> seq = list.stream().collect(Seq.toSeq());
+    final Seq<Integer> sorted = seq.sorted();
+    Collections.sort(list);
+    assertEquals(list, sorted);
+    assertTrue(sorted instanceof ArraySeq);
+    assertTrue(((ArraySeq<Integer>) sorted).isSortedBy(Comparator.naturalOrder()));
+    assertSame(sorted, sorted.sorted());
+    assertTrue(sorted.spliterator().hasCharacteristics(Spliterator.SORTED));
+
+    final Comparator<Integer> reversed = Comparator.reverseOrder();
+    final Seq<Integer> desc = seq.sorted(reversed);
+    list.sort(reversed);
+    assertEquals(list, desc);
+    assertFalse(desc.spliterator().hasCharacteristics(Spliterator.SORTED));
+  }
+
+  @Test
+  public final void testSearch() {
+    // Sorted by length, so equal elements by the comparator are not always equal:
+    final Comparator<String> byLength = Comparator.comparing(String::length);
+    final Seq<String> s = Seq.of("ccc", "a", "bb", "b", "dd", "e").sorted(byLength);
+    assertEquals(Seq.of("a", "b", "e", "bb", "dd", "ccc"), s);
+    assertEquals(1, s.indexOf("b"));
+    assertEquals(4, s.indexOf("dd"));
+    assertEquals(-1, s.indexOf("x"));
+    assertEquals(-1, s.indexOf("xxxx"));
+    assertEquals(-1, s.indexOf(42));
+    assertEquals(-1, s.indexOf(null));
+    assertTrue(s.contains("e"));
+    assertFalse(s.contains("f"));
+    assertEquals(0, s.tail().tail().indexOf("e"));
+    assertEquals(-1, s.tail().tail().indexOf("a"));
+  }
+}
@@ -0,0 +1,85 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import ch.claude_martin.function.tuple.Pair;
+
+public class UnrolledSeqTest {
+
+  @Test
+  public final void testPrepend() {
+    final List<Integer> expected = new ArrayList<>();
+    Seq<Integer> s = Seq.empty();
+    for (int i = 0; i < 1_000; i++) {
+      s = Seq.seq(i, s);
+      expected.add(0, i);
+    }
+    assertTrue(s instanceof UnrolledSeq);
+    assertEquals(1_000, s.length());
+    assertEquals(expected, s);
+    assertEquals(expected, new ArrayList<>(s));
+    for (int i = 0; i < 1_000; i += 7)
+      assertEquals(expected.get(i), s.get(i));
+    assertEquals(expected.subList(123, 1_000), s.drop(123));
+    assertEquals(expected.subList(1, 1_000), s.tail());
+    assertEquals(0, (int) s.last());
+    assertTrue(s.contains(500));
+    assertEquals(1, s.indexOf(998));
+  }
+
+  @Test
+  public final void testSharing() {
+    // "c" is in an array of two, with a free slot before it:
+    final Seq<String> tail = Seq.seq("c", Seq.seq("d", Seq.empty()));
+    final Seq<String> a = Seq.seq("a", tail);
+    // The slot before "c" is already used by a, so b gets its own array:
+    final Seq<String> b = Seq.seq("b", tail);
+    assertEquals(Seq.of("a", "c", "d"), a);
+    assertEquals(Seq.of("b", "c", "d"), b);
+    assertEquals(Seq.of("x", "a", "c", "d"), Seq.seq("x", a));
+    assertEquals(Seq.of("y", "a", "c", "d"), Seq.seq("y", a));
+    assertEquals(Seq.of("c", "d"), tail);
+    assertEquals(2, tail.length());
+  }
+
+  @Test
+  public final void testLazyTail() {
+    final AtomicInteger counter = new AtomicInteger();
+    final Seq<Integer> s = Seq.seq(-1, Seq.generate(counter::getAndIncrement));
+    assertEquals(-1, (int) s.head());
+    assertEquals(0, counter.get());
+    assertEquals(-1, AbstractSeq.knownLength(s));
+    assertEquals(Seq.of(-1, 0, 1, 2), s.take(4));
+    assertEquals(2, (int) s.get(3));
+  }
+
+  @Test
+  public final void testOfCollection() {
+    // A RandomAccess list is copied to an ArraySeq instead:
+    final List<Integer> list = new LinkedList<>();
+    for (int i = 0; i < 100; i++)
+      list.add(i);
+    final Seq<Integer> s = Seq.ofCollection(list);
+    assertTrue(s instanceof UnrolledSeq);
+    list.set(0, 42);
+    assertEquals(0, (int) s.head());
+    assertEquals(100, AbstractSeq.knownLength(s));
+    assertEquals(Seq.range(0, 100), s);
+    assertEquals(Seq.range(40, 100), s.drop(40));
+    assertEquals(Seq.empty(), s.drop(100));
+  }
+
+  @Test
+  public final void testPartition() {
+    final Pair<Seq<Integer>, Seq<Integer>> p = Seq.range(0, 10).partition(i -> i % 3 == 0);
+    assertEquals(Seq.of(0, 3, 6, 9), p._1());
+    assertEquals(Seq.of(1, 2, 4, 5, 7, 8), p._2());
+  }
+}
@@ -0,0 +1,102 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class VectorSeqTest {
+
+  /** Sizes around the boundaries of the tail and the levels of the trie. */
+  private static final int[] SIZES = { 0, 1, 31, 32, 33, 64, 1_024, 1_056, 1_057, 33_824, 33_825,
+      70_000 };
+
+  private static List<Integer> list(final int size) {
+    final List<Integer> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++)
+      list.add(i);
+    return list;
+  }
+
+  @Test
+  public final void testBuilderAndAppend() {
+    for (final int size : SIZES) {
+      final List<Integer> expected = list(size);
+      final VectorSeq<Integer> built = VectorSeq.ofCollection(expected);
+      VectorSeq<Integer> appended = VectorSeq.empty();
+      for (final Integer i : expected)
+        appended = appended.append(i);
+      assertEquals(expected, built);
+      assertEquals(expected, appended);
+      assertEquals(size, built.length());
+      for (int i = 0; i < size; i++)
+        assertEquals(i, (int) appended.get(i));
+      assertEquals(expected, new ArrayList<>(appended));
+    }
+  }
+
+  @Test
+  public final void testPersistence() {
+    final VectorSeq<Integer> v = VectorSeq.ofCollection(list(2_000));
+    final VectorSeq<Integer> updated = v.update(5, -5).update(1_999, -1_999);
+    final VectorSeq<Integer> appended = v.append(2_000);
+    assertEquals(list(2_000), v);
+    assertEquals(-5, (int) updated.get(5));
+    assertEquals(-1_999, (int) updated.last());
+    assertEquals(1_999, (int) v.last());
+    assertEquals(2_001, appended.length());
+    assertEquals(2_000, (int) appended.last());
+    assertThrows(IndexOutOfBoundsException.class, () -> v.update(2_000, 0));
+    assertThrows(IllegalStateException.class, () -> {
+      final VectorSeq.Builder<Integer> builder = VectorSeq.builder();
+      builder.build();
+      builder.add(1);
+    });
+  }
+
+  @Test
+  public final void testTakeDrop() {
+    for (final int size : SIZES) {
+      final VectorSeq<Integer> v = VectorSeq.ofCollection(list(size));
+      for (final int n : SIZES) {
+        if (n > size)
+          break;
+        final VectorSeq<Integer> taken = v.take(n);
+        assertEquals(list(n), taken);
+        // the dropped elements must not be visible after an append:
+        assertEquals(n, (int) taken.append(n).last());
+        assertEquals(list(size).subList(n, size), v.drop(n));
+        assertEquals(list(size).subList(n / 2, n), v.take(n).drop(n / 2));
+      }
+    }
+    final VectorSeq<Integer> v = VectorSeq.ofCollection(list(100));
+    assertEquals(list(99), v.init());
+    assertEquals(list(100).subList(1, 100), v.tail());
+    assertEquals(Seq.range(99, -1, -1), v.reverse());
+    assertTrue(v.contains(50));
+    assertFalse(v.drop(51).contains(50));
+  }
+
+  @Test
+  public final void testAppendSeq() {
+    final VectorSeq<Integer> v = VectorSeq.of(1, 2, 3);
+    assertTrue(v.append(Seq.of(4, 5)) instanceof VectorSeq);
+    assertEquals(Seq.of(1, 2, 3, 4, 5), v.append(Seq.of(4, 5)));
+    final Seq<Integer> infinite = v.append(Seq.iterate(4, (Integer i) -> i + 1));
+    assertEquals(Seq.of(1, 2, 3, 4, 5), infinite.take(5));
+  }
+
+  @Test
+  public final void testStream() {
+    final VectorSeq<Integer> v = Seq.range(0, 100_000).stream().collect(Seq.toVectorSeq());
+    final Spliterator<Integer> s = v.drop(10).spliterator();
+    assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    assertEquals(99_990, s.estimateSize());
+    assertEquals(list(100_000), v.parallelStream().collect(Collectors.toList()));
+    assertArrayEquals(list(100_000).subList(7, 100_000).toArray(), v.drop(7).toArray());
+  }
+}
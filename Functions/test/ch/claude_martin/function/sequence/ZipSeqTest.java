@@ -0,0 +1,103 @@
+package ch.claude_martin.function.sequence;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import ch.claude_martin.function.Functions;
+import ch.claude_martin.function.tuple.Pair;
+import ch.claude_martin.function.tuple.Quad;
+import ch.claude_martin.function.tuple.Triplet;
+
+public class ZipSeqTest {
+
+  @Test
+  public final void testZip() {
+    final Seq<Pair<Integer, String>> zipped = Seq.zip(Seq.of(1, 2, 3), Seq.of("a", "b"));
+    assertEquals(Seq.of(Pair.of(1, "a"), Pair.of(2, "b")), zipped);
+    assertEquals(2, zipped.length());
+    assertEquals(Pair.of(2, "b"), zipped.get(1));
+    assertEquals(Seq.empty(), Seq.zip(Seq.of(1), Seq.empty()));
+    assertEquals(Seq.of(Triplet.of(1, 'x', 1.5)),
+        Seq.zip(Seq.of(1, 2), Seq.of('x'), Seq.of(1.5, 2.5)));
+    assertEquals(Seq.of(10, 20), Seq.zip(Seq.of(1, 2), Seq.of(2, 4), Seq.of(3, 6), Seq.of(4, 8),
+        (a, b, c, d) -> a + b + c + d));
+  }
+
+  @Test
+  public final void testInfinite() {
+    final AtomicInteger counter = new AtomicInteger();
+    final Seq<Integer> lazy = Seq.generate(counter::getAndIncrement);
+    final Seq<Integer> zipped = Seq.zip(lazy, Seq.of(1, 2).repeat(), (a, b) -> a * b);
+    assertEquals(0, counter.get());
+    assertEquals(Seq.of(0, 2, 2, 6, 4), zipped.take(5));
+    assertEquals(18, (int) zipped.get(9));
+    final Seq<Integer> finite = Seq.zip(lazy, Seq.range(0, 3), Integer::sum);
+    assertEquals(3, finite.length());
+    assertEquals(Seq.of(0, 2, 4), finite);
+  }
+
+  @Test
+  public final void testMemoized() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Seq<Object> zipped = Seq.zip(Seq.of(1, 2, 3), Seq.range(0, 3).repeat(), (a, b) -> {
+      calls.incrementAndGet();
+      return new Object();
+    });
+    assertSame(zipped.head(), zipped.head());
+    assertSame(zipped.tail(), zipped.tail());
+    assertSame(zipped.get(2), zipped.drop(2).head());
+    final Iterator<Object> itr = zipped.iterator();
+    assertSame(zipped.head(), itr.next());
+    assertSame(zipped.tail().head(), itr.next());
+    final List<Object> list = new ArrayList<>();
+    zipped.forEach(list::add);
+    assertEquals(zipped, list);
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public final void testParallel() {
+    final Integer[] array = new Integer[100_000];
+    for (int i = 0; i < array.length; i++)
+      array[i] = i;
+    final Seq<Integer> a = Seq.of(array);
+    final Seq<Integer> b = Seq.of(array).reverse();
+    final Seq<Integer> zipped = Seq.zip(a, b, Integer::sum);
+    final Spliterator<Integer> spliterator = zipped.spliterator();
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+    final Spliterator<Integer> prefix = spliterator.trySplit();
+    assertEquals(50_000, prefix.estimateSize());
+    assertEquals(50_000, spliterator.estimateSize());
+    assertTrue(zipped.parallelStream().allMatch(i -> i == array.length - 1));
+    assertEquals(Seq.of(array).stream().map(i -> array.length - 1).collect(Collectors.toList()),
+        zipped.parallelStream().collect(Collectors.toList()));
+  }
+
+  @Test
+  public final void testFunctions() {
+    final List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+    final Seq<Pair<Integer, String>> zipped = Functions.zip(list, Arrays.asList("a", "b", "c"));
+    list.clear(); // the collection was copied
+    assertEquals(Seq.of(Pair.of(1, "a"), Pair.of(2, "b"), Pair.of(3, "c")), zipped);
+    assertEquals(Seq.of(Pair.uniform(1, 2)), Functions.zipUni(Arrays.asList(1), Seq.of(2, 3)));
+    assertEquals(Seq.of(Quad.of(1, 2, 3, 4)), Functions.zip(Arrays.asList(1), Arrays.asList(2),
+        Arrays.asList(3), Arrays.asList(4)));
+
+    final Seq<String> fromStreams = Functions.zip((a, b) -> a + b, Stream.of("x", "y"),
+        Stream.iterate(0, i -> i + 1));
+    assertEquals(Seq.of("x0", "y1"), fromStreams);
+    final Seq<Integer> fromIterables = Functions.zip((a, b, c) -> a * b * c, Seq.range(1, 5)
+        .repeat(), Arrays.asList(1, 2, 3), (Iterable<Integer>) () -> Stream.of(5, 5).iterator());
+    assertEquals(Seq.of(5, 20), fromIterables);
+  }
+}